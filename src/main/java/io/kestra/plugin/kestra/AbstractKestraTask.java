@@ -9,6 +9,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Optional;
 
 @SuperBuilder
@@ -31,19 +36,9 @@ public abstract class AbstractKestraTask extends Task {
     protected Property<String> tenantId;
 
     protected KestraClient kestraClient(RunContext runContext) throws IllegalVariableEvaluationException {
-        // use the kestraUrl property if set, otherwise the config value, or else the default
-        String rKestraUrl = runContext.render(kestraUrl).as(String.class)
-            .orElseGet(() -> {
-                try {
-                    return runContext.render(KESTRA_URL_TEMPLATE);
-                } catch (IllegalVariableEvaluationException e) {
-                    return DEFAULT_KESTRA_URL;
-                }
-            });
-
-        runContext.logger().info("Kestra URL: {}", rKestraUrl);
+        String normalizedUrl = renderKestraUrl(runContext);
 
-        String normalizedUrl = rKestraUrl.trim().replaceAll("/+$", "");
+        runContext.logger().info("Kestra URL: {}", normalizedUrl);
 
         var builder = KestraClient.builder();
         builder.url(normalizedUrl);
@@ -66,6 +61,72 @@ public abstract class AbstractKestraTask extends Task {
         return builder.build();
     }
 
+    /**
+     * Creates a raw HTTP client for the endpoints not usable through the {@link KestraClient},
+     * using the same URL and authentication.
+     */
+    protected KestraHttpClient kestraHttpClient(RunContext runContext) throws IllegalVariableEvaluationException {
+        String normalizedUrl = renderKestraUrl(runContext);
+
+        if (auth == null) {
+            return new KestraHttpClient(normalizedUrl, null);
+        }
+
+        if (auth.apiToken != null && (auth.username != null || auth.password != null)) {
+            throw new IllegalArgumentException("Cannot use both API Token authentication and HTTP Basic authentication");
+        }
+
+        Optional<String> maybeToken = runContext.render(auth.apiToken).as(String.class);
+        if (maybeToken.isPresent()) {
+            return new KestraHttpClient(normalizedUrl, "Bearer " + maybeToken.get());
+        }
+
+        Optional<String> maybeUsername = runContext.render(auth.username).as(String.class);
+        Optional<String> maybePassword = runContext.render(auth.password).as(String.class);
+        if (maybeUsername.isPresent() && maybePassword.isPresent()) {
+            String credentials = maybeUsername.get() + ":" + maybePassword.get();
+            return new KestraHttpClient(normalizedUrl, "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        throw new IllegalArgumentException("Both username and password are required for HTTP Basic authentication");
+    }
+
+    /**
+     * The Kestra API URL without trailing slash.
+     */
+    protected String renderKestraUrl(RunContext runContext) throws IllegalVariableEvaluationException {
+        // use the kestraUrl property if set, otherwise the config value, or else the default
+        String rKestraUrl = runContext.render(kestraUrl).as(String.class)
+            .orElseGet(() -> {
+                try {
+                    return runContext.render(KESTRA_URL_TEMPLATE);
+                } catch (IllegalVariableEvaluationException e) {
+                    return DEFAULT_KESTRA_URL;
+                }
+            });
+
+        return rKestraUrl.trim().replaceAll("/+$", "");
+    }
+
+    /**
+     * A SHA-256 hash of the rendered credentials, to key the data cached on the worker by caller without keeping the credentials.
+     */
+    protected String renderAuthIdentity(RunContext runContext) throws IllegalVariableEvaluationException {
+        String credentials = "anonymous";
+        if (auth != null) {
+            Optional<String> maybeToken = runContext.render(auth.apiToken).as(String.class);
+            credentials = maybeToken.isPresent() ?
+                "token:" + maybeToken.get() :
+                "basic:" + runContext.render(auth.username).as(String.class).orElse("") + ":" + runContext.render(auth.password).as(String.class).orElse("");
+        }
+
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(credentials.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Builder
     @Getter
     public static class Auth {
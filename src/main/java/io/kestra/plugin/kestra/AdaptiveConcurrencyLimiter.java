@@ -0,0 +1,105 @@
+package io.kestra.plugin.kestra;
+
+import io.kestra.core.utils.Rethrow;
+import io.kestra.sdk.internal.ApiException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of in-flight Kestra API calls and adapts it to the server feedback.
+ * <p>
+ * The limit starts at the configured maximum. Each throttled call (HTTP 429 or 5xx) halves it and is retried
+ * after an exponential backoff with jitter, while a full window of successful calls raises it back by one,
+ * so a batch slows down when the server struggles and speeds up again once it recovers.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(200);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final int maxConcurrency;
+    private final int maxRetries;
+
+    private int limit;
+    private int inFlight;
+    private int successes;
+
+    private final AtomicLong throttled = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(int maxConcurrency, int maxRetries) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The concurrency must be greater than 0, got " + maxConcurrency);
+        }
+
+        this.maxConcurrency = maxConcurrency;
+        this.maxRetries = maxRetries;
+        this.limit = maxConcurrency;
+    }
+
+    /**
+     * Calls the API once a slot is available, retrying it on throttling until {@code maxRetries} is reached.
+     */
+    public <T> T call(Rethrow.CallableChecked<T, Exception> callable) throws Exception {
+        int attempt = 0;
+
+        while (true) {
+            acquire();
+            try {
+                T result = callable.call();
+                onSuccess();
+                return result;
+            } catch (ApiException e) {
+                if (!isRetryable(e) || attempt >= maxRetries) {
+                    throw e;
+                }
+                onThrottled();
+            } finally {
+                release();
+            }
+
+            Thread.sleep(backoff(attempt++));
+        }
+    }
+
+    /**
+     * The number of calls that were throttled by the server and retried.
+     */
+    public long throttled() {
+        return throttled.get();
+    }
+
+    public static boolean isRetryable(ApiException e) {
+        return e.getCode() == 429 || e.getCode() >= 500;
+    }
+
+    private synchronized void acquire() throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    private synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    private synchronized void onSuccess() {
+        if (limit < maxConcurrency && ++successes >= limit) {
+            limit++;
+            successes = 0;
+        }
+    }
+
+    private synchronized void onThrottled() {
+        throttled.incrementAndGet();
+        limit = Math.max(1, limit / 2);
+        successes = 0;
+    }
+
+    private static long backoff(int attempt) {
+        long delay = Math.min(MAX_BACKOFF.toMillis(), INITIAL_BACKOFF.toMillis() << Math.min(attempt, 20));
+        return delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
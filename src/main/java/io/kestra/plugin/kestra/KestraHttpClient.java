@@ -0,0 +1,178 @@
+package io.kestra.plugin.kestra;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.sdk.internal.ApiException;
+import jakarta.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Minimal HTTP client for the Kestra API endpoints the generated SDK cannot handle properly:
+ * multipart or raw YAML bodies, and binary responses that must be streamed instead of being buffered as a {@code byte[]}.
+ * <p>
+ * It uses the same URL and credentials as the {@link io.kestra.sdk.KestraClient} built by {@link AbstractKestraTask},
+ * and reports non-2xx responses as an {@link ApiException} so callers can handle both clients the same way.
+ */
+public class KestraHttpClient {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private final HttpClient httpClient;
+    private final String url;
+    @Nullable
+    private final String authorization;
+
+    KestraHttpClient(String url, @Nullable String authorization) {
+        this.httpClient = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.url = url;
+        this.authorization = authorization;
+    }
+
+    /**
+     * Sends a GET request and returns the response body as a stream, the caller must close it.
+     */
+    public InputStream get(String path, Map<String, List<String>> queryParameters) throws IOException, InterruptedException, ApiException {
+        HttpRequest request = request(path, queryParameters)
+            .GET()
+            .build();
+
+        return send(request);
+    }
+
+    /**
+     * Sends a DELETE request and returns the response body as a stream, the caller must close it.
+     */
+    public InputStream delete(String path, Map<String, List<String>> queryParameters) throws IOException, InterruptedException, ApiException {
+        HttpRequest request = request(path, queryParameters)
+            .DELETE()
+            .build();
+
+        return send(request);
+    }
+
+    /**
+     * Sends a POST request with a JSON body and returns the response body as a stream, the caller must close it.
+     */
+    public InputStream post(String path, Object body) throws IOException, InterruptedException, ApiException {
+        HttpRequest request = request(path, Map.of())
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+            .build();
+
+        return send(request);
+    }
+
+    /**
+     * Sends a request with a raw body of the given content type and returns the response body as a stream, the caller must close it.
+     */
+    public InputStream send(String method, String path, String contentType, byte[] body) throws IOException, InterruptedException, ApiException {
+        HttpRequest request = request(path, Map.of())
+            .header("Content-Type", contentType)
+            .method(method, HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+
+        return send(request);
+    }
+
+    /**
+     * Sends a POST request with a {@code multipart/form-data} body made of text parts and returns the deserialized JSON response.
+     */
+    public Map<String, Object> postMultipart(String path, Map<String, List<String>> queryParameters, Map<String, String> parts) throws IOException, InterruptedException, ApiException {
+        String boundary = "kestra-" + UUID.randomUUID();
+
+        StringBuilder body = new StringBuilder();
+        parts.forEach((name, value) -> body
+            .append("--").append(boundary).append("\r\n")
+            .append("Content-Disposition: form-data; name=\"").append(name).append("\"\r\n\r\n")
+            .append(value).append("\r\n")
+        );
+        body.append("--").append(boundary).append("--\r\n");
+
+        HttpRequest request = request(path, queryParameters)
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+            .build();
+
+        try (InputStream response = send(request)) {
+            return MAPPER.readValue(response, JacksonMapper.MAP_TYPE_REFERENCE);
+        }
+    }
+
+    /**
+     * Sends a POST request with a {@code multipart/form-data} body made of a single file part, streamed from the given
+     * supplier, and returns the response body as a stream, the caller must close it.
+     */
+    public InputStream postFile(
+        String path,
+        Map<String, List<String>> queryParameters,
+        String name,
+        String fileName,
+        Supplier<InputStream> content
+    ) throws IOException, InterruptedException, ApiException {
+        String boundary = "kestra-" + UUID.randomUUID();
+        byte[] header = ("--" + boundary + "\r\n" +
+            "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n" +
+            "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] footer = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        HttpRequest request = request(path, queryParameters)
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(header),
+                content.get(),
+                new ByteArrayInputStream(footer)
+            )))))
+            .build();
+
+        return send(request);
+    }
+
+    private HttpRequest.Builder request(String path, Map<String, List<String>> queryParameters) {
+        String query = queryParameters.entrySet().stream()
+            .flatMap(entry -> entry.getValue().stream()
+                .map(value -> encode(entry.getKey()) + "=" + encode(value))
+            )
+            .collect(Collectors.joining("&"));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url + path + (query.isEmpty() ? "" : "?" + query)));
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+
+        return builder;
+    }
+
+    private InputStream send(HttpRequest request) throws IOException, InterruptedException, ApiException {
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        if (response.statusCode() / 100 != 2) {
+            try (InputStream body = response.body()) {
+                String message = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                throw new ApiException(response.statusCode(), request.method() + " " + request.uri().getPath() + " failed with status " + response.statusCode() + ": " + message);
+            }
+        }
+
+        return response.body();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package io.kestra.plugin.kestra;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Fetches every page of a paged Kestra API search.
+ * <p>
+ * Pages are numbered from 1 and the last page is the one reaching the total, so a total of 15 with a size of 10
+ * fetches 2 pages and a total of 20 fetches exactly 2 pages, never a trailing empty one. An empty page also ends the
+ * iteration, in case the results shrank while paging.
+ * <p>
+ * The returned {@link Flux} is lazy: nothing is fetched before it is subscribed, and cancelling it (for example with
+ * {@code next()} or {@code take(n)}) stops fetching the following pages. With a prefetch greater than 1, the first page
+ * gives the number of pages and the following ones are fetched concurrently, up to {@code prefetch} pages ahead of the
+ * consumer, while still being emitted in order.
+ */
+public final class Paginator {
+    private Paginator() {
+        // utility class
+    }
+
+    @FunctionalInterface
+    public interface PageFetcher<P> {
+        P fetch(int page, int size) throws Exception;
+    }
+
+    /**
+     * Streams the pages one at a time, a page is only fetched once the previous one has been consumed.
+     */
+    public static <P> Flux<P> pages(PageFetcher<P> fetcher, Function<P, List<?>> results, Function<P, Long> total, int size) {
+        return pages(fetcher, results, total, size, 1);
+    }
+
+    /**
+     * Streams the pages in order, fetching up to {@code prefetch} pages concurrently once the total is known.
+     */
+    public static <P> Flux<P> pages(PageFetcher<P> fetcher, Function<P, List<?>> results, Function<P, Long> total, int size, int prefetch) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The page size must be greater than 0, got " + size);
+        }
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("The prefetch must be greater than 0, got " + prefetch);
+        }
+
+        if (prefetch == 1) {
+            return Flux.<P, Integer>generate(
+                () -> 1,
+                (page, sink) -> {
+                    try {
+                        P current = fetcher.fetch(page, size);
+                        sink.next(current);
+
+                        if (isLast(page, size, results.apply(current), total.apply(current))) {
+                            sink.complete();
+                        }
+                    } catch (Exception e) {
+                        sink.error(e);
+                    }
+
+                    return page + 1;
+                }
+            );
+        }
+
+        return Mono.fromCallable(() -> fetcher.fetch(1, size))
+            .flatMapMany(first -> {
+                if (isLast(1, size, results.apply(first), total.apply(first))) {
+                    return Flux.just(first);
+                }
+
+                // the number of pages is taken from the first page, the search is considered as a snapshot
+                long pageCount = Math.min(Integer.MAX_VALUE, (total.apply(first) + size - 1) / size);
+                Flux<P> next = Flux.range(2, (int) pageCount - 1)
+                    .flatMapSequential(
+                        page -> Mono.fromCallable(() -> fetcher.fetch(page, size)).subscribeOn(Schedulers.boundedElastic()),
+                        prefetch,
+                        1
+                    )
+                    .takeUntil(current -> results.apply(current).isEmpty());
+
+                return Flux.concat(Mono.just(first), next);
+            });
+    }
+
+    /**
+     * Streams the results of every page, a page is only fetched once the previous one has been consumed.
+     */
+    public static <P, T> Flux<T> items(PageFetcher<P> fetcher, Function<P, List<T>> results, Function<P, Long> total, int size) {
+        return items(fetcher, results, total, size, 1);
+    }
+
+    /**
+     * Streams the results of every page in order, fetching up to {@code prefetch} pages concurrently once the total is known.
+     */
+    public static <P, T> Flux<T> items(PageFetcher<P> fetcher, Function<P, List<T>> results, Function<P, Long> total, int size, int prefetch) {
+        return pages(fetcher, results::apply, total, size, prefetch)
+            .concatMapIterable(results::apply);
+    }
+
+    private static boolean isLast(int page, int size, List<?> results, Long total) {
+        return results == null || results.isEmpty() || total == null || (long) page * size >= total;
+    }
+}
@@ -0,0 +1,128 @@
+package io.kestra.plugin.kestra.executions;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.Paginator;
+import io.kestra.sdk.KestraClient;
+import io.kestra.sdk.internal.ApiException;
+import io.kestra.sdk.model.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base class for the tasks working on the executions matching a search filter.
+ */
+@SuperBuilder(toBuilder = true)
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractExecutionSearch extends AbstractKestraTask {
+    @Nullable
+    @Schema(title = "Can be set to USER to fetch only user-created executions, or to SYSTEM to fetch only system executions. By default, the task will handle both.")
+    private Property<List<FlowScope>> flowScopes;
+
+    @Nullable
+    @Schema(title = "To list only executions from a given namespace.")
+    private Property<String> namespace;
+
+    @Nullable
+    @Schema(title = "To list only executions of a given flow.")
+    private Property<String> flowId;
+
+    @Nullable
+    @Schema(title = "To list only executions created after a given start date.")
+    private Property<ZonedDateTime> startDate;
+
+    @Nullable
+    @Schema(title = "To list only executions created before a given end date.")
+    private Property<ZonedDateTime> endDate;
+
+    @Nullable
+    @Schema(title = "To list only executions created within a given time range duration.")
+    private Property<Duration> timeRange;
+
+    @Nullable
+    @Schema(title = "To list only executions in given states.")
+    private Property<List<StateType>> states;
+
+    @Nullable
+    @Schema(title = "To list only executions with given labels.")
+    private Property<Map<String, String>> labels;
+
+    @Nullable
+    @Schema(title = "To list all downstream executions started from a given execution id.")
+    private Property<String> triggerExecutionId;
+
+    @Nullable
+    @Schema(title = "To list only child executions of a given flow.")
+    private Property<ExecutionRepositoryInterfaceChildFilter> childFilter;
+
+    protected PagedResultsExecution executeSearch(
+        RunContext runContext,
+        KestraClient kestraClient,
+        Integer page,
+        Integer size
+    ) throws IllegalVariableEvaluationException, ApiException {
+        List<FlowScope> rFlowScopes = runContext.render(this.flowScopes).asList(FlowScope.class);
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        String rNamespace = runContext.render(this.namespace).as(String.class).orElse(null);
+        String rFlowId = runContext.render(this.flowId).as(String.class).orElse(null);
+        ZonedDateTime rStartDate = runContext.render(this.startDate).as(ZonedDateTime.class).orElse(null);
+        ZonedDateTime rEndDate = runContext.render(this.endDate).as(ZonedDateTime.class).orElse(null);
+        Duration rTimerange = runContext.render(this.timeRange).as(Duration.class).orElse(null);
+        List<StateType> rState = runContext.render(this.states).asList(StateType.class);
+        Map<String, String> rLabels = runContext.render(this.labels).asMap(String.class, String.class);
+        String rTriggerExecutionId = runContext.render(this.triggerExecutionId).as(String.class).orElse(null);
+        ExecutionRepositoryInterfaceChildFilter rChildFilter = runContext.render(this.childFilter).as(ExecutionRepositoryInterfaceChildFilter.class).orElse(null);
+
+        return kestraClient.executions().searchExecutions(
+            page,
+            size,
+            tId,
+            null, // TODO: implement something for sorting?
+            null, // Filters is not working correctly in the SDK yet
+            null,
+            rFlowScopes,
+            rNamespace,
+            rFlowId,
+            rStartDate != null ? rStartDate.toOffsetDateTime() : null,
+            rEndDate != null ? rEndDate.toOffsetDateTime() : null,
+            rTimerange != null ? rTimerange.toString() : null,
+            rState,
+            rLabels.entrySet().stream().map(label -> label.getKey() + ":" + label.getValue()).toList(),
+            rTriggerExecutionId,
+            rChildFilter
+        );
+    }
+
+    /**
+     * Lazily streams the executions of every page, a page is only fetched once the previous one has been consumed.
+     */
+    protected Flux<Execution> searchAll(RunContext runContext, KestraClient kestraClient, int size) {
+        return searchPages(runContext, kestraClient, size)
+            .concatMapIterable(PagedResultsExecution::getResults);
+    }
+
+    /**
+     * Lazily streams every page of results, a page is only fetched once the previous one has been consumed.
+     */
+    protected Flux<PagedResultsExecution> searchPages(RunContext runContext, KestraClient kestraClient, int size) {
+        return Paginator.pages(
+            (page, pageSize) -> executeSearch(runContext, kestraClient, page, pageSize),
+            PagedResultsExecution::getResults,
+            PagedResultsExecution::getTotal,
+            size
+        );
+    }
+}
@@ -0,0 +1,190 @@
+package io.kestra.plugin.kestra.executions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.*;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Create a batch of Kestra executions",
+    description = "Creates one execution of a flow for each row of an ION file from the internal storage, each row being the map of inputs of the execution. " +
+        "Executions are created concurrently through the API, and the concurrency is automatically reduced when the server answers with HTTP 429 or 5xx errors. " +
+        "The created execution IDs are written, in the order of the input rows, to an ION file."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Create one execution per row of a previously generated file",
+            full = true,
+            code = """
+                id: fan_out_executions
+                namespace: company.team
+
+                tasks:
+                  - id: create_batch
+                    type: io.kestra.plugin.kestra.executions.CreateBatch
+                    kestraUrl: https://my-other-instance.io
+                    auth:
+                      apiToken: "{{ secret('KESTRA_API_TOKEN') }}"
+                    tenantId: main
+                    namespace: company.data
+                    flowId: process_customer
+                    from: "{{ outputs.extract.uri }}"
+                    labels:
+                      triggeredBy: fan_out_executions
+                    concurrency: 20
+                """
+        )
+    }
+)
+public class CreateBatch extends AbstractKestraTask implements RunnableTask<CreateBatch.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Schema(title = "The namespace of the flow to execute.")
+    @NotNull
+    private Property<String> namespace;
+
+    @Schema(title = "The ID of the flow to execute.")
+    @NotNull
+    private Property<String> flowId;
+
+    @Schema(
+        title = "The URI of an ION file from the internal storage containing the inputs.",
+        description = "Each row must be a map of inputs, one execution is created per row."
+    )
+    @NotNull
+    private Property<String> from;
+
+    @Schema(title = "The labels to add to every created execution.")
+    private Property<Map<String, String>> labels;
+
+    @Schema(title = "The revision of the flow to execute, defaults to the latest revision.")
+    private Property<Integer> revision;
+
+    @Schema(
+        title = "The maximum number of executions created concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(10);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Override
+    public CreateBatch.Output run(RunContext runContext) throws Exception {
+        String rTenantId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        String rNamespace = runContext.render(namespace).as(String.class).orElseThrow();
+        String rFlowId = runContext.render(flowId).as(String.class).orElseThrow();
+        URI rFrom = URI.create(runContext.render(from).as(String.class).orElseThrow());
+        Map<String, String> rLabels = runContext.render(labels).asMap(String.class, String.class);
+        Integer rRevision = runContext.render(revision).as(Integer.class).orElse(null);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(10);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        String path = "/api/v1/" + rTenantId + "/executions/" + rNamespace + "/" + rFlowId;
+        Map<String, List<String>> queryParameters = new LinkedHashMap<>();
+        queryParameters.put("labels", rLabels.entrySet().stream().map(label -> label.getKey() + ":" + label.getValue()).toList());
+        if (rRevision != null) {
+            queryParameters.put("revision", List.of(rRevision.toString()));
+        }
+
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+
+        runContext.logger().info("Creating executions of flow {}.{} from {} with concurrency={}", rNamespace, rFlowId, rFrom, rConcurrency);
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        Long count;
+        try (
+            var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(rFrom)), FileSerde.BUFFER_SIZE);
+            var writer = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)
+        ) {
+            Flux<Map<String, Object>> created = FileSerde.readAll(reader)
+                .index()
+                .flatMapSequential(
+                    row -> Mono.fromCallable(() -> createExecution(httpClient, limiter, path, queryParameters, row.getT1(), row.getT2()))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                    rConcurrency
+                );
+
+            count = FileSerde.writeAll(writer, created).block();
+        }
+
+        runContext.metric(Counter.of("created", count));
+        runContext.metric(Counter.of("throttled", limiter.throttled()));
+        runContext.logger().info("Created {} executions, {} requests were throttled", count, limiter.throttled());
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .size(count)
+            .build();
+    }
+
+    private Map<String, Object> createExecution(
+        KestraHttpClient httpClient,
+        AdaptiveConcurrencyLimiter limiter,
+        String path,
+        Map<String, List<String>> queryParameters,
+        long index,
+        Object row
+    ) throws Exception {
+        if (!(row instanceof Map<?, ?> inputs)) {
+            throw new IllegalArgumentException("Row " + index + " must be a map of inputs, got: " + row);
+        }
+
+        Map<String, String> parts = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> input : inputs.entrySet()) {
+            if (input.getValue() != null) {
+                parts.put(String.valueOf(input.getKey()), input.getValue() instanceof String value ? value : MAPPER.writeValueAsString(input.getValue()));
+            }
+        }
+
+        Map<String, Object> execution = limiter.call(() -> httpClient.postMultipart(path, queryParameters, parts));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("executionId", execution.get("id"));
+        return result;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of an ION file with the created execution IDs",
+            description = "Each row contains the `index` of the input row and the created `executionId`."
+        )
+        private URI uri;
+
+        @Schema(title = "The number of created executions")
+        private Long size;
+    }
+}
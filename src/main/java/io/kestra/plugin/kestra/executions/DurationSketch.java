@@ -0,0 +1,133 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A mergeable quantile sketch for durations with a bounded relative error.
+ * <p>
+ * Durations are counted in logarithmic buckets, each bucket covering values within {@code relativeAccuracy} of its center,
+ * so the memory only depends on the range of the durations (about a thousand buckets from a millisecond to a month at 1%)
+ * and never on the number of durations added. Sketches built with the same accuracy can be merged without losing precision.
+ */
+public class DurationSketch {
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private final NavigableMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public DurationSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("The relative accuracy must be between 0 and 1, got " + relativeAccuracy);
+        }
+
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(Duration duration) {
+        long millis = Math.max(0, duration.toMillis());
+
+        if (millis < 1) {
+            zeroCount++;
+        } else {
+            buckets.merge((int) Math.ceil(Math.log(millis) / logGamma), 1L, Long::sum);
+        }
+
+        count++;
+        sum += millis;
+        min = Math.min(min, millis);
+        max = Math.max(max, millis);
+    }
+
+    public void merge(DurationSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different relative accuracies");
+        }
+
+        other.buckets.forEach((index, bucketCount) -> buckets.merge(index, bucketCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public Duration min() {
+        return count == 0 ? null : Duration.ofMillis(min);
+    }
+
+    public Duration max() {
+        return count == 0 ? null : Duration.ofMillis(max);
+    }
+
+    public Duration mean() {
+        return count == 0 ? null : Duration.ofMillis(sum / count);
+    }
+
+    /**
+     * Returns the duration at the given quantile, between 0 and 1, within the relative accuracy of the sketch.
+     */
+    public Duration quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("The quantile must be between 0 and 1, got " + quantile);
+        }
+
+        if (count == 0) {
+            return null;
+        }
+
+        long rank = (long) Math.floor(quantile * (count - 1));
+        if (rank < zeroCount) {
+            return Duration.ZERO;
+        }
+
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                long value = Math.round(2 * Math.pow(gamma, bucket.getKey()) / (gamma + 1));
+                return Duration.ofMillis(Math.clamp(value, min, max));
+            }
+        }
+
+        return Duration.ofMillis(max);
+    }
+
+    /**
+     * Counts the durations lower than or equal to each of the sorted upper bounds,
+     * the last count being the durations greater than the last upper bound.
+     * <p>
+     * The counts are approximate: they are taken from the representative value of each sketch bucket, so a duration
+     * within the relative accuracy of an upper bound may be counted in the next bucket.
+     */
+    public long[] histogram(List<Duration> sortedUpperBounds) {
+        long[] histogram = new long[sortedUpperBounds.size() + 1];
+        histogram[0] += zeroCount;
+
+        buckets.forEach((index, bucketCount) -> {
+            double value = 2 * Math.pow(gamma, index) / (gamma + 1);
+            int bound = 0;
+            while (bound < sortedUpperBounds.size() && value > sortedUpperBounds.get(bound).toMillis()) {
+                bound++;
+            }
+            histogram[bound] += bucketCount;
+        });
+
+        return histogram;
+    }
+}
@@ -0,0 +1,142 @@
+package io.kestra.plugin.kestra.executions;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import jakarta.annotation.Nullable;
+
+import java.io.*;
+import java.net.URI;
+import java.util.*;
+
+/**
+ * Writes rows to several ION files of the internal storage, one set of files per partition key.
+ * <p>
+ * A file is uploaded and a new one is started as soon as it reaches the maximum number of rows or bytes,
+ * so rows are streamed to storage as they arrive. At most {@link #MAX_OPEN_FILES} files are kept open, the least
+ * recently written one is closed when another partition needs a file, and reopened in append mode on its next row.
+ */
+class PartitionedIonWriter implements Closeable {
+    static final int MAX_OPEN_FILES = 64;
+
+    private final RunContext runContext;
+    @Nullable
+    private final Integer maxRows;
+    @Nullable
+    private final Long maxBytes;
+
+    private final Map<String, PartFile> parts = new TreeMap<>();
+    // the parts with an open file, in access order so the first one is the least recently written
+    private final LinkedHashMap<String, PartFile> openFiles = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Integer> fileCounts = new HashMap<>();
+    private final List<Query.Partition> partitions = new ArrayList<>();
+
+    PartitionedIonWriter(RunContext runContext, @Nullable Integer maxRows, @Nullable Long maxBytes) {
+        this.runContext = runContext;
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+    }
+
+    void write(String key, Object row) throws IOException {
+        PartFile file = parts.get(key);
+        if (file == null) {
+            file = new PartFile(runContext.workingDir().createTempFile(".ion").toFile());
+            parts.put(key, file);
+        }
+
+        if (openFiles.get(key) == null) {
+            if (openFiles.size() >= MAX_OPEN_FILES) {
+                Iterator<PartFile> eldest = openFiles.values().iterator();
+                eldest.next().closeOutput();
+                eldest.remove();
+            }
+            file.openOutput();
+            openFiles.put(key, file);
+        }
+
+        FileSerde.write(file.output, row);
+        file.rows++;
+
+        if ((maxRows != null && file.rows >= maxRows) || (maxBytes != null && file.output.count >= maxBytes)) {
+            parts.remove(key);
+            openFiles.remove(key);
+            upload(key, file);
+        }
+    }
+
+    /**
+     * The uploaded partitions, only complete once the writer is closed.
+     */
+    List<Query.Partition> partitions() {
+        return partitions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Map.Entry<String, PartFile> entry : parts.entrySet()) {
+            upload(entry.getKey(), entry.getValue());
+        }
+        parts.clear();
+        openFiles.clear();
+    }
+
+    private void upload(String key, PartFile file) throws IOException {
+        file.closeOutput();
+
+        int index = fileCounts.merge(key, 1, Integer::sum) - 1;
+        String name = (key.isEmpty() ? "part" : key.replaceAll("[^a-zA-Z0-9._-]", "_")) + "_" + index + ".ion";
+        URI uri = runContext.storage().putFile(file.file, name);
+
+        partitions.add(Query.Partition.builder()
+            .key(key.isEmpty() ? null : key)
+            .uri(uri)
+            .rows(file.rows)
+            .bytes(file.bytes)
+            .build()
+        );
+    }
+
+    private static class PartFile {
+        private final File file;
+        @Nullable
+        private CountingOutputStream output;
+        private long rows;
+        private long bytes;
+
+        private PartFile(File file) {
+            this.file = file;
+        }
+
+        private void openOutput() throws IOException {
+            this.output = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(file, true), FileSerde.BUFFER_SIZE), bytes);
+        }
+
+        private void closeOutput() throws IOException {
+            if (output != null) {
+                output.close();
+                bytes = output.count;
+                output = null;
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out, long count) {
+            super(out);
+            this.count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
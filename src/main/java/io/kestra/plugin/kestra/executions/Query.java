@@ -1,32 +1,30 @@
 package io.kestra.plugin.kestra.executions;
 
-import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
-import io.kestra.core.models.tasks.common.FetchOutput;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.FileSerde;
-import io.kestra.plugin.kestra.AbstractKestraTask;
 import io.kestra.sdk.KestraClient;
-import io.kestra.sdk.internal.ApiException;
 import io.kestra.sdk.model.*;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.annotation.Nullable;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
-import java.time.Duration;
-import java.time.ZonedDateTime;
+import java.net.URI;
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
 
 @SuperBuilder(toBuilder = true)
 @ToString
@@ -79,7 +77,7 @@ import java.util.Map;
         )
     }
 )
-public class Query extends AbstractKestraTask implements RunnableTask<FetchOutput> {
+public class Query extends AbstractExecutionSearch implements RunnableTask<Query.Output> {
     @Nullable
     @Schema(title = "If not provided, all pages are fetched",
         description = "To efficiently fetch only the first 10 API results, you can use `page: 1` along with `size: 10`.")
@@ -96,130 +94,143 @@ public class Query extends AbstractKestraTask implements RunnableTask<FetchOutpu
     private Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
 
     @Nullable
-    @Schema(title = "Can be set to USER to fetch only user-created executions, or to SYSTEM to fetch only system executions. By default, the task will handle both.")
-    private Property<List<FlowScope>> flowScopes;
-
-    @Nullable
-    @Schema(title = "To list only executions from a given namespace.")
-    private Property<String> namespace;
-
-    @Nullable
-    @Schema(title = "To list only executions of a given flow.")
-    private Property<String> flowId;
-
-    @Nullable
-    @Schema(title = "To list only executions created after a given start date.")
-    private Property<ZonedDateTime> startDate;
-
-    @Nullable
-    @Schema(title = "To list only executions created before a given end date.")
-    private Property<ZonedDateTime> endDate;
+    @Schema(
+        title = "Split the stored executions in one set of files per namespace or per flow.",
+        description = "Only used with `fetchType: STORE`. The files are listed in the `partitions` output instead of `uri`."
+    )
+    private Property<PartitionBy> partitionBy;
 
     @Nullable
-    @Schema(title = "To list only executions created within a given time range duration.")
-    private Property<Duration> timeRange;
+    @Schema(
+        title = "The maximum number of executions per stored file.",
+        description = "Only used with `fetchType: STORE`. The files are listed in the `partitions` output instead of `uri`."
+    )
+    private Property<Integer> maxRowsPerFile;
 
     @Nullable
-    @Schema(title = "To list only executions in given states.")
-    private Property<List<StateType>> states;
-
-    @Nullable
-    @Schema(title = "To list only executions with given labels.")
-    private Property<Map<String, String>> labels;
-
-    @Nullable
-    @Schema(title = "To list all downstream executions started from a given execution id.")
-    private Property<String> triggerExecutionId;
-
-    @Nullable
-    @Schema(title = "To list only child executions of a given flow.")
-    private Property<ExecutionRepositoryInterfaceChildFilter> childFilter;
+    @Schema(
+        title = "The maximum size in bytes of a stored file.",
+        description = "Only used with `fetchType: STORE`. A file is closed as soon as it reaches this size, so it can be slightly larger. " +
+            "The files are listed in the `partitions` output instead of `uri`."
+    )
+    private Property<Long> maxBytesPerFile;
 
     @Override
-    public FetchOutput run(RunContext runContext) throws Exception {
+    public Query.Output run(RunContext runContext) throws Exception {
 
         KestraClient kestraClient = kestraClient(runContext);
-        FetchOutput.FetchOutputBuilder output = FetchOutput.builder();
+        Output.OutputBuilder output = Output.builder();
         Integer rPage = runContext.render(this.page).as(Integer.class).orElse(null);
         Integer rSize = runContext.render(this.size).as(Integer.class).orElse(10);
 
-        List<Execution> executions = new java.util.ArrayList<>(List.of());
-        long total;
-
-        if (rPage != null) {
-            PagedResultsExecution results = executeSearch(runContext, kestraClient, rPage, rSize);
-            executions.addAll(results.getResults());
-            total = results.getTotal();
-        } else {
-            int currentPage = 1;
-            do {
-                PagedResultsExecution results = executeSearch(runContext, kestraClient, currentPage, rSize);
-                executions.addAll(results.getResults());
-                total = results.getTotal();
-                currentPage++;
-            } while ((long) currentPage * rSize < total);
-        }
-
-        output.size(total);
+        AtomicLong total = new AtomicLong();
+        Flux<PagedResultsExecution> pages = rPage != null ?
+            Mono.fromCallable(() -> executeSearch(runContext, kestraClient, rPage, rSize)).flux() :
+            searchPages(runContext, kestraClient, rSize);
+        Flux<Execution> executions = pages
+            .doOnNext(results -> total.set(results.getTotal()))
+            .concatMapIterable(PagedResultsExecution::getResults);
 
-        return switch (runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.STORE)) {
+        switch (runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.STORE)) {
             case STORE -> {
-                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
-                try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
-                    Flux<Execution> flux = Flux.fromIterable(executions);
-                    FileSerde.writeAll(fileOutput, flux).block();
+                PartitionBy rPartitionBy = runContext.render(this.partitionBy).as(PartitionBy.class).orElse(null);
+                Integer rMaxRowsPerFile = runContext.render(this.maxRowsPerFile).as(Integer.class).orElse(null);
+                Long rMaxBytesPerFile = runContext.render(this.maxBytesPerFile).as(Long.class).orElse(null);
+
+                if (rPartitionBy == null && rMaxRowsPerFile == null && rMaxBytesPerFile == null) {
+                    File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+                    try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+                        FileSerde.writeAll(fileOutput, executions).block();
+                    }
+                    output.uri(runContext.storage().putFile(tempFile));
+                } else {
+                    PartitionedIonWriter writer = new PartitionedIonWriter(runContext, rMaxRowsPerFile, rMaxBytesPerFile);
+                    try (writer) {
+                        executions
+                            .doOnNext(throwConsumer(execution -> writer.write(partitionKey(execution, rPartitionBy), execution)))
+                            .blockLast();
+                    }
+                    output.partitions(writer.partitions());
                 }
-                yield output.uri(runContext.storage().putFile(tempFile)).build();
             }
-            case FETCH -> output.rows(Collections.singletonList(executions)).build();
+            case FETCH -> output.rows(Collections.singletonList(executions.collectList().block()));
             case FETCH_ONE -> {
-                if (!executions.isEmpty()) {
-                    output.row(Map.of("0", executions.getFirst()));
+                Execution first = executions.next().block();
+                if (first != null) {
+                    output.row(Map.of("0", first));
                 }
-                yield output.build();
             }
-            default -> output.build();
+            default -> executions.next().block();
+        }
+
+        return output
+            .size(total.get())
+            .build();
+    }
+
+    private static String partitionKey(Execution execution, @Nullable PartitionBy partitionBy) {
+        if (partitionBy == null) {
+            return "";
+        }
+
+        return switch (partitionBy) {
+            case NAMESPACE -> execution.getNamespace();
+            case FLOW -> execution.getNamespace() + "." + execution.getFlowId();
         };
+    }
 
+    public enum PartitionBy {
+        NAMESPACE,
+        FLOW
     }
 
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "List containing the fetched data",
+            description = "Only populated if using `fetchType=FETCH`."
+        )
+        private java.util.List<Object> rows;
+
+        @Schema(
+            title = "Map containing the first row of fetched data",
+            description = "Only populated if using `fetchType=FETCH_ONE`."
+        )
+        private Map<String, Object> row;
+
+        @Schema(
+            title = "The URI of the stored data",
+            description = "Only populated if using `fetchType=STORE` without partitioning."
+        )
+        private URI uri;
 
-    private PagedResultsExecution executeSearch(
-        RunContext runContext,
-        KestraClient kestraClient,
-        Integer page,
-        Integer size
-    ) throws IllegalVariableEvaluationException, ApiException {
-        List<FlowScope> rFlowScopes = runContext.render(this.flowScopes).asList(FlowScope.class);
-        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        String rNamespace = runContext.render(this.namespace).as(String.class).orElse(null);
-        String rFlowId = runContext.render(this.flowId).as(String.class).orElse(null);
-        ZonedDateTime rStartDate = runContext.render(this.startDate).as(ZonedDateTime.class).orElse(null);
-        ZonedDateTime rEndDate = runContext.render(this.endDate).as(ZonedDateTime.class).orElse(null);
-        Duration rTimerange = runContext.render(this.timeRange).as(Duration.class).orElse(null);
-        List<StateType> rState = runContext.render(this.states).asList(StateType.class);
-        Map<String, String> rLabels = runContext.render(this.labels).asMap(String.class, String.class);
-        String rTriggerExecutionId = runContext.render(this.triggerExecutionId).as(String.class).orElse(null);
-        ExecutionRepositoryInterfaceChildFilter rChildFilter = runContext.render(this.childFilter).as(ExecutionRepositoryInterfaceChildFilter.class).orElse(null);
-
-        return kestraClient.executions().searchExecutions(
-            page,
-            size,
-            tId,
-            null, // TODO: implement something for sorting?
-            null, // Filters is not working correctly in the SDK yet
-            null,
-            rFlowScopes,
-            rNamespace,
-            rFlowId,
-            rStartDate != null ? rStartDate.toOffsetDateTime() : null,
-            rEndDate != null ? rEndDate.toOffsetDateTime() : null,
-            rTimerange != null ? rTimerange.toString() : null,
-            rState,
-            rLabels.entrySet().stream().map(label -> label.getKey() + ":" + label.getValue()).toList(),
-            rTriggerExecutionId,
-            rChildFilter
-        );
+        @Schema(
+            title = "The stored files",
+            description = "Only populated if using `fetchType=STORE` with `partitionBy`, `maxRowsPerFile` or `maxBytesPerFile`."
+        )
+        private java.util.List<Partition> partitions;
+
+        @Schema(title = "The number of executions matching the search")
+        private Long size;
     }
 
+    @Builder
+    @Getter
+    public static class Partition {
+        @Schema(
+            title = "The partition key",
+            description = "The namespace or `namespace.flowId` of the executions of the file, null when not partitioned by key."
+        )
+        private String key;
+
+        @Schema(title = "The URI of the file")
+        private URI uri;
+
+        @Schema(title = "The number of executions in the file")
+        private Long rows;
+
+        @Schema(title = "The size of the file in bytes")
+        private Long bytes;
+    }
 }
@@ -0,0 +1,277 @@
+package io.kestra.plugin.kestra.executions;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.sdk.KestraClient;
+import io.kestra.sdk.model.Execution;
+import io.kestra.sdk.model.StateType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuperBuilder(toBuilder = true)
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Compute execution duration statistics",
+    description = "Streams the executions matching the search filter and computes duration percentiles and histograms per namespace, flow and/or state. " +
+        "Durations are aggregated in mergeable quantile sketches with a bounded relative error, so the memory used does not depend on the number of executions scanned. " +
+        "Executions that are not terminated yet are skipped."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Compute the p50/p95/p99 durations of the successful executions of each flow of a namespace over the last 30 days",
+            full = true,
+            code = """
+                id: execution_duration_slo
+                namespace: company.team
+
+                tasks:
+                  - id: stats
+                    type: io.kestra.plugin.kestra.executions.Stats
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company.data
+                    timeRange: P30D
+                    states:
+                      - SUCCESS
+                    groupBy:
+                      - NAMESPACE
+                      - FLOW_ID
+                    percentiles:
+                      - 0.5
+                      - 0.95
+                      - 0.99
+                """
+        )
+    }
+)
+public class Stats extends AbstractExecutionSearch implements RunnableTask<Stats.Output> {
+    @Schema(title = "The fields used to group the executions.")
+    @Builder.Default
+    private Property<List<GroupBy>> groupBy = Property.ofValue(List.of(GroupBy.NAMESPACE, GroupBy.FLOW_ID));
+
+    @Schema(title = "The percentiles to compute, between 0 and 1.")
+    @Builder.Default
+    private Property<List<Double>> percentiles = Property.ofValue(List.of(0.5, 0.95, 0.99));
+
+    @Schema(
+        title = "The upper bounds of the histogram buckets.",
+        description = "A bucket counts the durations lower than or equal to its upper bound and greater than the previous one, from the exact durations."
+    )
+    @Builder.Default
+    private Property<List<Duration>> histogramBuckets = Property.ofValue(List.of(
+        Duration.ofSeconds(1),
+        Duration.ofSeconds(10),
+        Duration.ofMinutes(1),
+        Duration.ofMinutes(10),
+        Duration.ofHours(1)
+    ));
+
+    @Schema(
+        title = "The relative accuracy of the computed percentiles.",
+        description = "For example, with 0.01 a computed p99 of 100s means the exact p99 is between 99s and 101s."
+    )
+    @Builder.Default
+    private Property<Double> relativeAccuracy = Property.ofValue(0.01);
+
+    @Schema(title = "The number of executions fetched per page.")
+    @Builder.Default
+    private Property<Integer> size = Property.ofValue(100);
+
+    @Override
+    public Stats.Output run(RunContext runContext) throws Exception {
+        List<GroupBy> rGroupBy = runContext.render(groupBy).asList(GroupBy.class);
+        List<Double> rPercentiles = runContext.render(percentiles).asList(Double.class);
+        List<Duration> rHistogramBuckets = runContext.render(histogramBuckets).asList(Duration.class).stream().sorted().toList();
+        double rRelativeAccuracy = runContext.render(relativeAccuracy).as(Double.class).orElse(0.01);
+        int rSize = runContext.render(size).as(Integer.class).orElse(100);
+
+        KestraClient kestraClient = kestraClient(runContext);
+
+        Map<GroupKey, GroupDurations> durations = new TreeMap<>(GroupKey.COMPARATOR);
+        AtomicLong skipped = new AtomicLong();
+
+        searchAll(runContext, kestraClient, rSize)
+            .doOnNext(execution -> {
+                if (execution.getState().getStartDate() == null || execution.getState().getEndDate() == null) {
+                    skipped.incrementAndGet();
+                    return;
+                }
+
+                durations
+                    .computeIfAbsent(GroupKey.of(execution, rGroupBy), key -> new GroupDurations(rRelativeAccuracy, rHistogramBuckets))
+                    .add(Duration.between(execution.getState().getStartDate(), execution.getState().getEndDate()));
+            })
+            .blockLast();
+
+        GroupDurations total = new GroupDurations(rRelativeAccuracy, rHistogramBuckets);
+        List<Group> groups = new ArrayList<>();
+        durations.forEach((key, groupDurations) -> {
+            total.merge(groupDurations);
+            groups.add(Group.of(key, groupDurations, rPercentiles, rHistogramBuckets));
+        });
+
+        runContext.logger().info("Computed duration statistics of {} executions in {} groups, {} skipped", total.sketch.count(), groups.size(), skipped.get());
+
+        return Output.builder()
+            .groups(groups)
+            .total(Group.of(new GroupKey(null, null, null), total, rPercentiles, rHistogramBuckets))
+            .skipped(skipped.get())
+            .build();
+    }
+
+    public enum GroupBy {
+        NAMESPACE,
+        FLOW_ID,
+        STATE
+    }
+
+    /**
+     * The durations of a group: a sketch for the percentiles, and exact histogram counts as the upper bounds are known upfront.
+     */
+    private static class GroupDurations {
+        private final DurationSketch sketch;
+        private final List<Duration> sortedUpperBounds;
+        private final long[] histogram;
+
+        private GroupDurations(double relativeAccuracy, List<Duration> sortedUpperBounds) {
+            this.sketch = new DurationSketch(relativeAccuracy);
+            this.sortedUpperBounds = sortedUpperBounds;
+            this.histogram = new long[sortedUpperBounds.size() + 1];
+        }
+
+        private void add(Duration duration) {
+            sketch.add(duration);
+
+            int bound = 0;
+            while (bound < sortedUpperBounds.size() && duration.compareTo(sortedUpperBounds.get(bound)) > 0) {
+                bound++;
+            }
+            histogram[bound]++;
+        }
+
+        private void merge(GroupDurations other) {
+            sketch.merge(other.sketch);
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+        }
+    }
+
+    private record GroupKey(@Nullable String namespace, @Nullable String flowId, @Nullable StateType state) {
+        private static final Comparator<GroupKey> COMPARATOR = Comparator
+            .comparing(GroupKey::namespace, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(GroupKey::flowId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(GroupKey::state, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        static GroupKey of(Execution execution, List<GroupBy> groupBy) {
+            return new GroupKey(
+                groupBy.contains(GroupBy.NAMESPACE) ? execution.getNamespace() : null,
+                groupBy.contains(GroupBy.FLOW_ID) ? execution.getFlowId() : null,
+                groupBy.contains(GroupBy.STATE) ? execution.getState().getCurrent() : null
+            );
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "The statistics of each group of executions")
+        private List<Group> groups;
+
+        @Schema(title = "The statistics of all the executions")
+        private Group total;
+
+        @Schema(title = "The number of executions skipped because they are not terminated")
+        private Long skipped;
+    }
+
+    @Builder
+    @Getter
+    public static class Group {
+        @Schema(title = "The namespace of the group, only set when grouped by `NAMESPACE`")
+        private String namespace;
+
+        @Schema(title = "The flow ID of the group, only set when grouped by `FLOW_ID`")
+        private String flowId;
+
+        @Schema(title = "The state of the group, only set when grouped by `STATE`")
+        private StateType state;
+
+        @Schema(title = "The number of executions")
+        private Long count;
+
+        @Schema(title = "The shortest duration")
+        private Duration min;
+
+        @Schema(title = "The longest duration")
+        private Duration max;
+
+        @Schema(title = "The mean duration")
+        private Duration mean;
+
+        @Schema(
+            title = "The duration of each requested percentile",
+            description = "Keyed by percentile, for example `p50`, `p95` or `p99.9`."
+        )
+        private Map<String, Duration> percentiles;
+
+        @Schema(title = "The number of executions in each histogram bucket")
+        private List<HistogramBucket> histogram;
+
+        private static Group of(GroupKey key, GroupDurations durations, List<Double> percentiles, List<Duration> histogramBuckets) {
+            DurationSketch sketch = durations.sketch;
+            Map<String, Duration> values = new LinkedHashMap<>();
+            percentiles.forEach(percentile -> values.put(
+                "p" + BigDecimal.valueOf(percentile * 100).stripTrailingZeros().toPlainString(),
+                sketch.quantile(percentile)
+            ));
+
+            long[] counts = durations.histogram;
+            List<HistogramBucket> histogram = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                histogram.add(new HistogramBucket(i < histogramBuckets.size() ? histogramBuckets.get(i) : null, counts[i]));
+            }
+
+            return Group.builder()
+                .namespace(key.namespace())
+                .flowId(key.flowId())
+                .state(key.state())
+                .count(sketch.count())
+                .min(sketch.min())
+                .max(sketch.max())
+                .mean(sketch.mean())
+                .percentiles(values)
+                .histogram(histogram)
+                .build();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class HistogramBucket {
+        @Schema(
+            title = "The upper bound of the bucket",
+            description = "Null for the last bucket, counting the durations greater than every upper bound."
+        )
+        private Duration upperBound;
+
+        @Schema(title = "The number of executions in the bucket")
+        private Long count;
+    }
+}
@@ -0,0 +1,283 @@
+package io.kestra.plugin.kestra.executions;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.Paginator;
+import io.kestra.sdk.KestraClient;
+import io.kestra.sdk.model.Execution;
+import io.kestra.sdk.model.ExecutionRepositoryInterfaceChildFilter;
+import io.kestra.sdk.model.PagedResultsExecution;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Crawl the tree of child executions of a Kestra execution",
+    description = "Starting from a root execution, fetches breadth-first every child execution started by subflows, level by level. " +
+        "The children of all the executions of a level are fetched concurrently, and each execution is visited only once. " +
+        "Every node (id, parent, flow, state and duration) is streamed to an ION file, and timings are aggregated per level."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Crawl the tree of child executions of a given execution",
+            full = true,
+            code = """
+                id: execution_tree
+                namespace: company.team
+
+                inputs:
+                  - id: executionId
+                    type: STRING
+
+                tasks:
+                  - id: tree
+                    type: io.kestra.plugin.kestra.executions.Tree
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    executionId: "{{ inputs.executionId }}"
+                    concurrency: 10
+                """
+        )
+    }
+)
+public class Tree extends AbstractKestraTask implements RunnableTask<Tree.Output> {
+    @Schema(
+        title = "The ID of the root execution",
+        description = "If null, the tree of the current execution is crawled."
+    )
+    private Property<String> executionId;
+
+    @Nullable
+    @Schema(
+        title = "The maximum depth to crawl",
+        description = "The root execution is at depth 0. If null, the whole tree is crawled."
+    )
+    private Property<Integer> maxDepth;
+
+    @Schema(title = "The maximum number of child searches running concurrently.")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(10);
+
+    @Schema(title = "The number of child executions fetched per page.")
+    @Builder.Default
+    private Property<Integer> size = Property.ofValue(100);
+
+    @Override
+    public Tree.Output run(RunContext runContext) throws Exception {
+        String rTenantId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        String rExecutionId = runContext.render(executionId).as(String.class).orElse(runContext.render("{{ execution.id }}"));
+        Integer rMaxDepth = runContext.render(maxDepth).as(Integer.class).orElse(null);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(10);
+        int rSize = runContext.render(size).as(Integer.class).orElse(100);
+
+        KestraClient kestraClient = kestraClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, 5);
+
+        Execution root = kestraClient.executions().getExecution(rExecutionId, rTenantId);
+        if (root == null) {
+            throw new IllegalArgumentException("Execution " + rExecutionId + " not found");
+        }
+
+        Set<String> visited = ConcurrentHashMap.newKeySet();
+        visited.add(root.getId());
+
+        List<Level> levels = new ArrayList<>();
+        List<Node> level = List.of(new Node(null, root));
+        long count = 0;
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+            while (!level.isEmpty()) {
+                int depth = levels.size();
+                for (Node node : level) {
+                    FileSerde.write(output, node.toMap(depth));
+                }
+                count += level.size();
+                levels.add(Level.of(depth, level));
+
+                runContext.logger().debug("Found {} executions at depth {}", level.size(), depth);
+
+                if (rMaxDepth != null && depth >= rMaxDepth) {
+                    break;
+                }
+
+                level = Flux.fromIterable(level)
+                    .flatMap(
+                        parent -> Mono.fromCallable(() -> children(kestraClient, limiter, rTenantId, parent.execution().getId(), rSize))
+                            .subscribeOn(Schedulers.boundedElastic()),
+                        rConcurrency
+                    )
+                    .flatMapIterable(children -> children)
+                    .filter(child -> visited.add(child.execution().getId()))
+                    .collectList()
+                    .block();
+            }
+        }
+
+        runContext.logger().info("Crawled {} executions on {} levels from execution {}", count, levels.size(), rExecutionId);
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .size(count)
+            .levels(levels)
+            .build();
+    }
+
+    private List<Node> children(KestraClient kestraClient, AdaptiveConcurrencyLimiter limiter, String tenantId, String parentId, int size) throws Exception {
+        return Paginator.items(
+                (page, pageSize) -> limiter.call(() -> kestraClient.executions().searchExecutions(
+                    page,
+                    pageSize,
+                    tenantId,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    parentId,
+                    ExecutionRepositoryInterfaceChildFilter.CHILD
+                )),
+                PagedResultsExecution::getResults,
+                PagedResultsExecution::getTotal,
+                size
+            )
+            .map(execution -> new Node(parentId, execution))
+            .collectList()
+            .block();
+    }
+
+    private record Node(@Nullable String parentId, Execution execution) {
+        @Nullable
+        OffsetDateTime startDate() {
+            return execution.getState().getStartDate();
+        }
+
+        @Nullable
+        OffsetDateTime endDate() {
+            return execution.getState().getEndDate();
+        }
+
+        @Nullable
+        Duration duration() {
+            if (startDate() == null) {
+                return null;
+            }
+
+            return Duration.between(startDate(), endDate() != null ? endDate() : OffsetDateTime.now());
+        }
+
+        Map<String, Object> toMap(int depth) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", execution.getId());
+            map.put("parentId", parentId);
+            map.put("depth", depth);
+            map.put("namespace", execution.getNamespace());
+            map.put("flowId", execution.getFlowId());
+            map.put("state", execution.getState().getCurrent());
+            map.put("startDate", startDate());
+            map.put("endDate", endDate());
+            map.put("duration", duration());
+            return map;
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of an ION file with the executions of the tree",
+            description = "Each row contains the `id`, `parentId`, `depth`, `namespace`, `flowId`, `state`, `startDate`, `endDate` and `duration` of an execution, ordered by depth."
+        )
+        private URI uri;
+
+        @Schema(title = "The number of executions in the tree, including the root execution")
+        private Long size;
+
+        @Schema(title = "The timings aggregated per level of the tree")
+        private List<Level> levels;
+    }
+
+    @Builder
+    @Getter
+    public static class Level {
+        @Schema(title = "The depth of the level, the root execution is at depth 0")
+        private Integer depth;
+
+        @Schema(title = "The number of executions of the level")
+        private Integer count;
+
+        @Schema(title = "The sum of the durations of the executions of the level")
+        private Duration totalDuration;
+
+        @Schema(title = "The longest duration of an execution of the level")
+        private Duration maxDuration;
+
+        @Schema(
+            title = "The wall-clock duration of the level",
+            description = "From the first start to the last end of the executions of the level."
+        )
+        private Duration span;
+
+        private static Level of(int depth, List<Node> nodes) {
+            Duration total = Duration.ZERO;
+            Duration max = Duration.ZERO;
+            OffsetDateTime firstStart = null;
+            OffsetDateTime lastEnd = null;
+
+            for (Node node : nodes) {
+                Duration duration = node.duration();
+                if (duration == null) {
+                    continue;
+                }
+
+                total = total.plus(duration);
+                max = duration.compareTo(max) > 0 ? duration : max;
+
+                OffsetDateTime end = node.endDate() != null ? node.endDate() : OffsetDateTime.now();
+                firstStart = firstStart == null || node.startDate().isBefore(firstStart) ? node.startDate() : firstStart;
+                lastEnd = lastEnd == null || end.isAfter(lastEnd) ? end : lastEnd;
+            }
+
+            return Level.builder()
+                .depth(depth)
+                .count(nodes.size())
+                .totalDuration(total)
+                .maxDuration(max)
+                .span(firstStart != null ? Duration.between(firstStart, lastEnd) : Duration.ZERO)
+                .build();
+        }
+    }
+}
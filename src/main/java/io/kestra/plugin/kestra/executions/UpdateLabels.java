@@ -0,0 +1,277 @@
+package io.kestra.plugin.kestra.executions;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.sdk.KestraClient;
+import io.kestra.sdk.internal.ApiException;
+import io.kestra.sdk.model.Execution;
+import io.kestra.sdk.model.ExecutionControllerSetLabelsByIdsRequest;
+import io.kestra.sdk.model.Label;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@SuperBuilder(toBuilder = true)
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Update the labels of Kestra executions",
+    description = "Sets and removes labels on every execution matching the search filter. " +
+        "The matching executions are all listed before any update, so that an update can't move executions between the pages of the search. " +
+        "As the server replaces the labels of an execution, each execution is sent its full target labels: the executions of a batch ending with the same labels are updated by one request to the bulk labels endpoint, the others, or all of them when the bulk endpoint is not available or rejects a batch, through concurrent single updates. " +
+        "Failed updates don't fail the task, they are reported in an ION file. Only terminated executions can be updated."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Tag the failed executions of the last day with an incident ID",
+            full = true,
+            code = """
+                id: tag_incident_executions
+                namespace: company.team
+
+                tasks:
+                  - id: update_labels
+                    type: io.kestra.plugin.kestra.executions.UpdateLabels
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company.data
+                    timeRange: P1D
+                    states:
+                      - FAILED
+                    setLabels:
+                      incident: INC-1234
+                    removeLabels:
+                      - retryable
+                """
+        )
+    }
+)
+public class UpdateLabels extends AbstractExecutionSearch implements RunnableTask<UpdateLabels.Output> {
+    private static final String SYSTEM_LABEL_PREFIX = "system.";
+
+    @Schema(title = "The labels to add or update on the matching executions.")
+    private Property<Map<String, String>> setLabels;
+
+    @Schema(title = "The keys of the labels to remove from the matching executions.")
+    private Property<List<String>> removeLabels;
+
+    @Schema(
+        title = "The number of executions fetched per page.",
+        description = "It is also the maximum number of executions updated by a single bulk request."
+    )
+    @Builder.Default
+    private Property<Integer> size = Property.ofValue(100);
+
+    @Schema(title = "The maximum number of concurrent update requests.")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(10);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Override
+    public UpdateLabels.Output run(RunContext runContext) throws Exception {
+        String rTenantId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        Map<String, String> rSetLabels = runContext.render(setLabels).asMap(String.class, String.class);
+        List<String> rRemoveLabels = runContext.render(removeLabels).asList(String.class);
+        int rSize = runContext.render(size).as(Integer.class).orElse(100);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(10);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        if (rSetLabels.isEmpty() && rRemoveLabels.isEmpty()) {
+            throw new IllegalArgumentException("At least one of 'setLabels' or 'removeLabels' is required");
+        }
+
+        KestraClient kestraClient = kestraClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+        Context context = new Context(kestraClient, limiter, rTenantId, rConcurrency);
+
+        // the updates are listed first, as updating an execution while paging may move it out of the filter and shift the next pages
+        List<LabelUpdate> updates = searchAll(runContext, kestraClient, rSize)
+            .mapNotNull(execution -> {
+                context.scanned.incrementAndGet();
+                return labelUpdate(execution, rSetLabels, rRemoveLabels);
+            })
+            .collectList()
+            .block();
+
+        context.unchanged.set(context.scanned.get() - updates.size());
+
+        Flux.fromIterable(updates)
+            .buffer(rSize)
+            .flatMap(
+                batch -> Mono.fromRunnable(() -> applyBatch(context, batch))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .then(Mono.fromRunnable(() -> runContext.logger().info(
+                        "Scanned {} executions: {} updated, {} unchanged, {} failed",
+                        context.scanned.get(), context.updated.get(), context.unchanged.get(), context.failures.size()
+                    ))),
+                rConcurrency
+            )
+            .blockLast();
+
+        runContext.metric(Counter.of("scanned", context.scanned.get()));
+        runContext.metric(Counter.of("updated", context.updated.get()));
+        runContext.metric(Counter.of("unchanged", context.unchanged.get()));
+        runContext.metric(Counter.of("failed", context.failures.size()));
+
+        Output.OutputBuilder output = Output.builder()
+            .updated(context.updated.get())
+            .unchanged(context.unchanged.get())
+            .failed((long) context.failures.size());
+
+        if (!context.failures.isEmpty()) {
+            runContext.logger().warn("Unable to update the labels of {} executions", context.failures.size());
+
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+                FileSerde.writeAll(fileOutput, Flux.fromIterable(context.failures)).block();
+            }
+            output.failures(runContext.storage().putFile(tempFile));
+        }
+
+        return output.build();
+    }
+
+    /**
+     * Computes the update of an execution, or null when its labels are already up to date.
+     * System labels are left out as the server always keeps them.
+     */
+    private static LabelUpdate labelUpdate(Execution execution, Map<String, String> setLabels, List<String> removeLabels) {
+        Map<String, String> current = Optional.ofNullable(execution.getLabels()).orElse(List.of()).stream()
+            .filter(label -> !label.getKey().startsWith(SYSTEM_LABEL_PREFIX))
+            .collect(Collectors.toMap(Label::getKey, Label::getValue, (first, second) -> second, TreeMap::new));
+
+        Map<String, String> target = new TreeMap<>(current);
+        removeLabels.forEach(target::remove);
+        target.putAll(setLabels);
+
+        if (target.equals(current)) {
+            return null;
+        }
+
+        return new LabelUpdate(execution.getId(), target);
+    }
+
+    private void applyBatch(Context context, List<LabelUpdate> batch) {
+        // both endpoints replace the labels of the executions, so a bulk request can only update the executions ending with the same labels
+        Map<Map<String, String>, List<String>> byTarget = batch.stream()
+            .collect(Collectors.groupingBy(LabelUpdate::target, LinkedHashMap::new, Collectors.mapping(LabelUpdate::executionId, Collectors.toList())));
+
+        List<LabelUpdate> singles = new ArrayList<>();
+        byTarget.forEach((target, executionIds) -> {
+            if (executionIds.size() > 1 && context.bulkAvailable.get() && applyBulk(context, executionIds, target)) {
+                return;
+            }
+            executionIds.forEach(executionId -> singles.add(new LabelUpdate(executionId, target)));
+        });
+
+        Flux.fromIterable(singles)
+            .flatMap(
+                update -> Mono.fromRunnable(() -> applySingle(context, update.executionId(), labels(update.target())))
+                    .subscribeOn(Schedulers.boundedElastic()),
+                context.concurrency
+            )
+            .blockLast();
+    }
+
+    private boolean applyBulk(Context context, List<String> executionIds, Map<String, String> target) {
+        try {
+            context.limiter.call(() -> context.kestraClient.executions().setLabelsOnTerminatedExecutionsByIds(
+                context.tenantId,
+                new ExecutionControllerSetLabelsByIdsRequest()
+                    .executionsId(executionIds)
+                    .executionLabels(labels(target))
+            ));
+            context.updated.addAndGet(executionIds.size());
+            return true;
+        } catch (ApiException e) {
+            if (e.getCode() == 404 || e.getCode() == 405) {
+                context.bulkAvailable.set(false);
+            }
+            // retried one by one to report the executions that can't be updated
+            return false;
+        } catch (Exception e) {
+            // retried one by one to report the executions that can't be updated
+            return false;
+        }
+    }
+
+    private static List<Label> labels(Map<String, String> labels) {
+        return new TreeMap<>(labels).entrySet().stream()
+            .map(label -> new Label().key(label.getKey()).value(label.getValue()))
+            .toList();
+    }
+
+    private void applySingle(Context context, String executionId, List<Label> labels) {
+        try {
+            context.limiter.call(() -> context.kestraClient.executions().setLabelsOnTerminatedExecution(executionId, context.tenantId, labels));
+            context.updated.incrementAndGet();
+        } catch (Exception e) {
+            context.failures.add(Map.of(
+                "executionId", executionId,
+                "error", Objects.toString(e.getMessage(), e.getClass().getName())
+            ));
+        }
+    }
+
+    private record LabelUpdate(String executionId, Map<String, String> target) {}
+
+    @RequiredArgsConstructor
+    private static class Context {
+        private final KestraClient kestraClient;
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final String tenantId;
+        private final int concurrency;
+
+        private final AtomicBoolean bulkAvailable = new AtomicBoolean(true);
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong unchanged = new AtomicLong();
+        private final Queue<Map<String, String>> failures = new ConcurrentLinkedQueue<>();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "The number of updated executions")
+        private Long updated;
+
+        @Schema(title = "The number of executions that already had the expected labels")
+        private Long unchanged;
+
+        @Schema(title = "The number of executions that could not be updated")
+        private Long failed;
+
+        @Schema(
+            title = "URI of an ION file with the executions that could not be updated",
+            description = "Each row contains the `executionId` and the `error`. Only set when at least one update failed."
+        )
+        private URI failures;
+    }
+}
@@ -0,0 +1,408 @@
+package io.kestra.plugin.kestra.flows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.kestra.sdk.model.IdWithNamespace;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Build the dependency graph of Kestra flows",
+    description = "Starting from root flows, or from all the flows of some namespaces, fetches breadth-first the dependencies of each flow " +
+        "(subflow tasks and flow triggers, in both directions) until the whole connected graph is known. " +
+        "The dependencies of all the flows of a level are fetched concurrently, and each flow is fetched only once. " +
+        "The graph is stored as an adjacency ION file in topological order: a flow always comes before the flows it points to, " +
+        "the flows of a dependency cycle being stored together at the position of the cycle."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Find every flow connected to the flows of a namespace",
+            full = true,
+            code = """
+                id: flow_dependencies
+                namespace: company.team
+
+                tasks:
+                  - id: dependencies
+                    type: io.kestra.plugin.kestra.flows.Dependencies
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespaces:
+                      - company.data
+                    concurrency: 10
+                """
+        ),
+        @Example(
+            title = "Find the direct dependencies of a single flow",
+            full = true,
+            code = """
+                id: single_flow_dependencies
+                namespace: company.team
+
+                tasks:
+                  - id: dependencies
+                    type: io.kestra.plugin.kestra.flows.Dependencies
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    flows:
+                      - namespace: company.data
+                        id: ingest
+                    maxDepth: 1
+                """
+        )
+    }
+)
+public class Dependencies extends AbstractKestraTask implements RunnableTask<Dependencies.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final int PAGE_SIZE = 100;
+
+    @Schema(
+        title = "The root flows.",
+        description = "At least one of `flows` or `namespaces` must be set."
+    )
+    private Property<List<IdWithNamespace>> flows;
+
+    @Schema(
+        title = "Namespace prefixes whose flows are all used as roots.",
+        description = "At least one of `flows` or `namespaces` must be set."
+    )
+    private Property<List<String>> namespaces;
+
+    @Nullable
+    @Schema(
+        title = "The maximum number of hops from the root flows",
+        description = "If null, the whole connected graph is crawled."
+    )
+    private Property<Integer> maxDepth;
+
+    @Schema(
+        title = "The maximum number of dependency requests running concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(10);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Override
+    public Dependencies.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        List<IdWithNamespace> rFlows = runContext.render(flows).asList(IdWithNamespace.class);
+        List<String> rNamespaces = runContext.render(namespaces).asList(String.class);
+        Integer rMaxDepth = runContext.render(maxDepth).as(Integer.class).orElse(null);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(10);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        if (rFlows.isEmpty() && rNamespaces.isEmpty()) {
+            throw new IllegalArgumentException("At least one of `flows` or `namespaces` must be set");
+        }
+
+        Map<String, FlowNode> nodes = new ConcurrentHashMap<>();
+        rFlows.forEach(flow -> nodes.putIfAbsent(FlowArchives.key(flow.getNamespace(), flow.getId()), new FlowNode(flow.getNamespace(), flow.getId())));
+        for (String ns : rNamespaces) {
+            FlowPages.searchAll(kestraClient(runContext), tId, null, ns, List.of(), PAGE_SIZE)
+                .doOnNext(flow -> nodes.putIfAbsent(FlowArchives.key(flow.getNamespace(), flow.getId()), new FlowNode(flow.getNamespace(), flow.getId())))
+                .blockLast();
+        }
+
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+        Set<Edge> edges = ConcurrentHashMap.newKeySet();
+
+        // the visited flows are memoized, a flow reachable from several roots is only fetched once
+        Set<String> visited = ConcurrentHashMap.newKeySet();
+        List<FlowNode> level = new ArrayList<>(nodes.values());
+        level.forEach(node -> visited.add(node.key()));
+        int depth = 0;
+
+        while (!level.isEmpty() && (rMaxDepth == null || depth < rMaxDepth)) {
+            runContext.logger().debug("Fetching the dependencies of {} flows at depth {}", level.size(), depth);
+
+            level = Flux.fromIterable(level)
+                .flatMap(
+                    node -> Mono.fromCallable(() -> dependencies(httpClient, limiter, tId, node))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                    rConcurrency
+                )
+                .flatMapIterable(graph -> {
+                    edges.addAll(graph.edges());
+                    return graph.nodes();
+                })
+                .filter(node -> {
+                    nodes.putIfAbsent(node.key(), node);
+                    return visited.add(node.key());
+                })
+                .collectList()
+                .block();
+            depth++;
+        }
+
+        Map<String, List<Edge>> downstream = new HashMap<>();
+        edges.stream()
+            .filter(edge -> nodes.containsKey(edge.source()) && nodes.containsKey(edge.target()))
+            .forEach(edge -> downstream.computeIfAbsent(edge.source(), key -> new ArrayList<>()).add(edge));
+
+        List<List<String>> components = components(nodes.keySet(), downstream);
+        Set<String> cyclic = new TreeSet<>();
+        components.stream()
+            .filter(component -> component.size() > 1 || downstream.getOrDefault(component.getFirst(), List.of()).stream().anyMatch(edge -> edge.target().equals(edge.source())))
+            .forEach(cyclic::addAll);
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+            int index = 0;
+            for (String key : topologicalOrder(components, downstream)) {
+                FileSerde.write(output, nodes.get(key).toMap(index++, cyclic.contains(key), downstream.getOrDefault(key, List.of()), nodes));
+            }
+        }
+
+        int edgeCount = downstream.values().stream().mapToInt(List::size).sum();
+        runContext.metric(Counter.of("nodes", nodes.size()));
+        runContext.metric(Counter.of("edges", edgeCount));
+        runContext.metric(Counter.of("throttled", limiter.throttled()));
+
+        if (!cyclic.isEmpty()) {
+            runContext.logger().warn("{} flows are part of a dependency cycle", cyclic.size());
+        }
+        runContext.logger().info("Found {} flows and {} dependencies", nodes.size(), edgeCount);
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .nodes(nodes.size())
+            .edges(edgeCount)
+            .cyclic(cyclic.size())
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Graph dependencies(KestraHttpClient httpClient, AdaptiveConcurrencyLimiter limiter, String tId, FlowNode node) throws Exception {
+        String path = "/api/v1/" + tId + "/flows/" + encode(node.namespace()) + "/" + encode(node.id()) + "/dependencies";
+        Map<String, Object> graph = limiter.call(() -> {
+            try (InputStream inputStream = httpClient.get(path, Map.of("destinationOnly", List.of("false"), "expandAll", List.of("false")))) {
+                return MAPPER.readValue(inputStream, JacksonMapper.MAP_TYPE_REFERENCE);
+            }
+        });
+
+        // edges reference the nodes by their uid
+        Map<String, FlowNode> byUid = new HashMap<>();
+        for (Map<String, Object> graphNode : (List<Map<String, Object>>) graph.getOrDefault("nodes", List.of())) {
+            if (graphNode.get("namespace") instanceof String ns && graphNode.get("id") instanceof String id) {
+                byUid.put((String) graphNode.get("uid"), new FlowNode(ns, id));
+            }
+        }
+
+        List<Edge> edges = new ArrayList<>();
+        for (Map<String, Object> graphEdge : (List<Map<String, Object>>) graph.getOrDefault("edges", List.of())) {
+            FlowNode source = byUid.get((String) graphEdge.get("source"));
+            FlowNode target = byUid.get((String) graphEdge.get("target"));
+            if (source != null && target != null) {
+                Object relation = graphEdge.get("relation") instanceof Map<?, ?> map ? map.get("relationType") : null;
+                edges.add(new Edge(source.key(), target.key(), relation == null ? null : relation.toString()));
+            }
+        }
+
+        return new Graph(new ArrayList<>(byUid.values()), edges);
+    }
+
+    /**
+     * Tarjan's algorithm, returns the strongly connected components of the graph with their flows sorted by key.
+     * A component of several flows, or of a flow depending on itself, is a dependency cycle.
+     */
+    private static List<List<String>> components(Set<String> keys, Map<String, List<Edge>> downstream) {
+        Tarjan tarjan = new Tarjan(downstream);
+        new TreeSet<>(keys).forEach(key -> {
+            if (!tarjan.indexes.containsKey(key)) {
+                tarjan.visit(key);
+            }
+        });
+
+        return tarjan.components;
+    }
+
+    /**
+     * Kahn's algorithm on the components, the ready components are taken by key order so the result is stable.
+     * The flows of a component are ordered together, so the flows downstream of a cycle come after it.
+     */
+    private static List<String> topologicalOrder(List<List<String>> components, Map<String, List<Edge>> downstream) {
+        // a component is identified by its first flow
+        Map<String, List<String>> byFirst = new HashMap<>();
+        Map<String, String> componentOf = new HashMap<>();
+        components.forEach(component -> {
+            byFirst.put(component.getFirst(), component);
+            component.forEach(key -> componentOf.put(key, component.getFirst()));
+        });
+
+        Map<String, Integer> inDegrees = new TreeMap<>();
+        byFirst.keySet().forEach(first -> inDegrees.put(first, 0));
+        downstream.values().forEach(edges -> edges.stream()
+            .filter(edge -> !componentOf.get(edge.source()).equals(componentOf.get(edge.target())))
+            .forEach(edge -> inDegrees.merge(componentOf.get(edge.target()), 1, Integer::sum))
+        );
+
+        PriorityQueue<String> ready = new PriorityQueue<>();
+        inDegrees.forEach((first, inDegree) -> {
+            if (inDegree == 0) {
+                ready.add(first);
+            }
+        });
+
+        List<String> order = new ArrayList<>(componentOf.size());
+        while (!ready.isEmpty()) {
+            List<String> component = byFirst.get(ready.poll());
+            order.addAll(component);
+            for (String key : component) {
+                for (Edge edge : downstream.getOrDefault(key, List.of())) {
+                    String target = componentOf.get(edge.target());
+                    if (!target.equals(component.getFirst()) && inDegrees.merge(target, -1, Integer::sum) == 0) {
+                        ready.add(target);
+                    }
+                }
+            }
+        }
+
+        return order;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private record FlowNode(String namespace, String id) {
+        String key() {
+            return FlowArchives.key(namespace, id);
+        }
+
+        Map<String, Object> toMap(int order, boolean cyclic, List<Edge> downstream, Map<String, FlowNode> nodes) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("order", order);
+            map.put("namespace", namespace);
+            map.put("id", id);
+            map.put("cyclic", cyclic);
+            map.put("downstream", downstream.stream()
+                .map(edge -> {
+                    FlowNode target = nodes.get(edge.target());
+                    Map<String, Object> dependency = new LinkedHashMap<>();
+                    dependency.put("namespace", target.namespace());
+                    dependency.put("id", target.id());
+                    dependency.put("relation", edge.relation());
+                    return dependency;
+                })
+                .toList()
+            );
+            return map;
+        }
+    }
+
+    private record Edge(String source, String target, String relation) {}
+
+    @RequiredArgsConstructor
+    private static class Tarjan {
+        private final Map<String, List<Edge>> downstream;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final Map<String, Integer> lowLinks = new HashMap<>();
+        private final Deque<String> stack = new ArrayDeque<>();
+        private final Set<String> onStack = new HashSet<>();
+        private final List<List<String>> components = new ArrayList<>();
+
+        void visit(String key) {
+            int index = indexes.size();
+            indexes.put(key, index);
+            lowLinks.put(key, index);
+            stack.push(key);
+            onStack.add(key);
+
+            for (Edge edge : downstream.getOrDefault(key, List.of())) {
+                String target = edge.target();
+                if (!indexes.containsKey(target)) {
+                    visit(target);
+                    lowLinks.merge(key, lowLinks.get(target), Math::min);
+                } else if (onStack.contains(target)) {
+                    lowLinks.merge(key, indexes.get(target), Math::min);
+                }
+            }
+
+            // the flow is the root of a component, made of the flows stacked after it
+            if (lowLinks.get(key) == index) {
+                List<String> component = new ArrayList<>();
+                String member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    component.add(member);
+                } while (!member.equals(key));
+                component.sort(null);
+                components.add(component);
+            }
+        }
+    }
+
+    private record Graph(List<FlowNode> nodes, List<Edge> edges) {}
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of an ION file with the dependency graph",
+            description = "One row per flow in topological order, with its `order`, `namespace`, `id`, whether it is part of a cycle (`cyclic`), " +
+                "and the `downstream` flows it points to with the `relation` type. The flows of a cycle are stored together, before the flows downstream of the cycle."
+        )
+        private URI uri;
+
+        @Schema(title = "The number of flows in the graph")
+        private Integer nodes;
+
+        @Schema(title = "The number of dependencies in the graph")
+        private Integer edges;
+
+        @Schema(title = "The number of flows that are part of a dependency cycle")
+        private Integer cyclic;
+    }
+}
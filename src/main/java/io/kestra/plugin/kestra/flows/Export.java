@@ -2,19 +2,43 @@ package io.kestra.plugin.kestra.flows;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.kestra.sdk.model.IdWithNamespace;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 @SuperBuilder
 @ToString
@@ -23,7 +47,10 @@ import java.util.List;
 @NoArgsConstructor
 @Schema(
     title = "Export Kestra flows",
-    description = "Exports one or more Kestra flows as a ZIP archive. You can specify from a namespace prefix and/or labels to filter the flows to export. "
+    description = "Exports one or more Kestra flows as a ZIP archive. You can specify from a namespace prefix and/or labels to filter the flows to export. " +
+        "In incremental mode, only the flows created or updated since the previous incremental export are archived, using a manifest of the exported revisions kept in the KV store. " +
+        "In sharded mode, each namespace is exported by its own request, concurrently, so large tenants are not exported by a single long request. " +
+        "With deduplication, an export identical to the previous one reuses the previously stored archive."
 )
 @Plugin(
     examples = {
@@ -43,10 +70,54 @@ import java.util.List;
                       password: Admin1234 # pass your Kestra password as secret or KV pair
                     namespace: company.team
                 """
+        ),
+        @Example(
+            title = "Nightly incremental backup of the flows of a namespace",
+            full = true,
+            code = """
+                id: incremental_flows_backup
+                namespace: company.team
+
+                tasks:
+                  - id: export_changed_flows
+                    type: io.kestra.plugin.kestra.flows.Export
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company
+                    incremental: true
+                    manifestKey: company_flows_backup_manifest
+
+                triggers:
+                  - id: nightly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 2 * * *"
+                """
+        ),
+        @Example(
+            title = "Export every namespace of a tenant concurrently, one archive per namespace",
+            full = true,
+            code = """
+                id: sharded_flows_backup
+                namespace: company.team
+
+                tasks:
+                  - id: export_all_flows
+                    type: io.kestra.plugin.kestra.flows.Export
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    shardByNamespace: true
+                    shardOutput: PER_NAMESPACE
+                    concurrency: 8
+                """
         )
     }
 )
 public class Export extends AbstractKestraTask implements RunnableTask<Export.Output> {
+    private static final int MANIFEST_PAGE_SIZE = 100;
 
     @Schema(title = "A namespace prefix filter.")
     public Property<String> namespace;
@@ -54,33 +125,337 @@ public class Export extends AbstractKestraTask implements RunnableTask<Export.Ou
     @Schema(title = "A list of label with the format `key:value`")
     public Property<List<String>> labels;
 
+    @Schema(
+        title = "Only export the flows created or updated since the previous incremental export.",
+        description = "The namespace, ID, revision and content hash of each exported flow are kept in a manifest stored in the KV store of the current namespace. " +
+            "Flows whose revision did not change are skipped, and flows removed since the previous export are listed in the `deleted` output. " +
+            "The same manifest must always be used with the same filters."
+    )
+    @Builder.Default
+    private Property<Boolean> incremental = Property.ofValue(false);
+
+    @Schema(
+        title = "The KV key of the manifest used by the incremental mode.",
+        description = "Use a different key for each set of filters."
+    )
+    @Builder.Default
+    private Property<String> manifestKey = Property.ofValue("flows_export_manifest");
+
+    @Schema(
+        title = "Export each namespace matching the filters with its own request.",
+        description = "The flows matching the filters are listed first, then the flows of each namespace are exported concurrently by their IDs. A namespace that still fails after the retries " +
+            "is listed in the `failedNamespaces` output instead of failing the whole export, the task only fails when every namespace failed. " +
+            "Can't be combined with the incremental mode."
+    )
+    @Builder.Default
+    private Property<Boolean> shardByNamespace = Property.ofValue(false);
+
+    @Schema(
+        title = "How the sharded export is stored.",
+        description = "`MERGED` merges all the namespaces into a single archive, `PER_NAMESPACE` stores one archive per namespace."
+    )
+    @Builder.Default
+    private Property<ShardOutput> shardOutput = Property.ofValue(ShardOutput.MERGED);
+
+    @Schema(
+        title = "The maximum number of namespaces exported concurrently in sharded mode.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx) in sharded mode.")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Schema(
+        title = "Reuse the archive of the previous export when the exported flows did not change.",
+        description = "The archive is rebuilt with its entries sorted and fixed timestamps so its SHA-256 hash only depends on the flow sources. " +
+            "When the hash is the same as the one of the previous export, and its file still exists in the internal storage, " +
+            "its URI is returned instead of storing a new identical file, and `archiveChanged` is false. " +
+            "The hash and URI of the last archive are kept in the KV store of the current namespace. " +
+            "Can't be combined with the incremental mode, nor with the `PER_NAMESPACE` output of the sharded mode."
+    )
+    @Builder.Default
+    private Property<Boolean> deduplicate = Property.ofValue(false);
+
+    @Schema(
+        title = "The KV key where the hash of the last archive is kept when deduplicating.",
+        description = "Use a different key for each set of filters."
+    )
+    @Builder.Default
+    private Property<String> deduplicationKey = Property.ofValue("flows_export_archive");
+
     @Override
     public Export.Output run(RunContext runContext) throws Exception {
         String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
         String rNamespace = runContext.render(namespace).as(String.class).orElse(null);
         List<String> rLabels = runContext.render(labels).asList(String.class);
 
-        KestraClient kestraClient = kestraClient(runContext);
-        byte[] zipBytes = kestraClient.flows().exportFlowsByQuery(
-            tId,
-            null,
-            null,
-            null,
-            rNamespace,
-            rLabels
-        );
+        boolean rIncremental = runContext.render(incremental).as(Boolean.class).orElse(false);
+        boolean rShardByNamespace = runContext.render(shardByNamespace).as(Boolean.class).orElse(false);
+        boolean rDeduplicate = runContext.render(deduplicate).as(Boolean.class).orElse(false);
+        if (rIncremental && rShardByNamespace) {
+            throw new IllegalArgumentException("The incremental and sharded modes can't be used together");
+        }
+        if (rIncremental && rDeduplicate) {
+            throw new IllegalArgumentException("The incremental mode can't be used with deduplication");
+        }
 
+        if (rIncremental) {
+            return runIncremental(runContext, tId, rNamespace, rLabels);
+        }
 
-        InputStream inputStream = new ByteArrayInputStream(zipBytes);
+        if (rShardByNamespace) {
+            return runSharded(runContext, tId, rNamespace, rLabels);
+        }
+
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        queryParameters.put("labels", rLabels);
+        if (rNamespace != null) {
+            queryParameters.put("namespace", List.of(rNamespace));
+        }
+
+        // the archive is streamed from the HTTP response to the internal storage, it is never held in memory
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
         String fileName = "exported_flows.zip";
-        URI storedFileUri = runContext.storage().putFile(inputStream, fileName);
+        if (rDeduplicate) {
+            File tempFile = runContext.workingDir().createTempFile(".zip").toFile();
+            try (InputStream inputStream = httpClient.get("/api/v1/" + tId + "/flows/export/by-query", queryParameters)) {
+                Files.copy(inputStream, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            return storeDeduplicated(runContext, tempFile).build();
+        }
 
+        URI storedFileUri;
+        try (InputStream inputStream = httpClient.get("/api/v1/" + tId + "/flows/export/by-query", queryParameters)) {
+            storedFileUri = runContext.storage().putFile(inputStream, fileName);
+        }
 
         return Export.Output.builder()
             .flowsZip(storedFileUri)
             .build();
     }
 
+    private Export.Output runIncremental(RunContext runContext, String tId, String rNamespace, List<String> rLabels) throws Exception {
+        String rManifestKey = runContext.render(manifestKey).as(String.class).orElseThrow();
+        KVStore kvStore = runContext.namespaceKv(runContext.flowInfo().namespace());
+
+        Map<String, Map<String, Object>> previous = new HashMap<>();
+        Optional<KVValue> previousManifest = kvStore.getValue(rManifestKey);
+        if (previousManifest.isPresent()) {
+            for (Object entry : (List<?>) previousManifest.get().value()) {
+                Map<String, Object> flow = JacksonMapper.toMap(entry);
+                previous.put(FlowArchives.key((String) flow.get("namespace"), (String) flow.get("id")), flow);
+            }
+        }
+
+        // compare the revisions of the current flows with the manifest, only the new or updated flows are exported
+        Map<String, Map<String, Object>> manifest = new TreeMap<>();
+        Map<String, Integer> changedRevisions = new HashMap<>();
+        List<IdWithNamespace> changed = new ArrayList<>();
+        AtomicLong unchanged = new AtomicLong();
+        FlowPages.searchAll(kestraClient(runContext), tId, null, rNamespace, rLabels, MANIFEST_PAGE_SIZE)
+            .doOnNext(flow -> {
+                String key = FlowArchives.key(flow.getNamespace(), flow.getId());
+                Map<String, Object> entry = previous.remove(key);
+                if (entry != null && entry.get("revision") instanceof Number revision && revision.intValue() == flow.getRevision()) {
+                    manifest.put(key, entry);
+                    unchanged.incrementAndGet();
+                } else {
+                    changedRevisions.put(key, flow.getRevision());
+                    changed.add(new IdWithNamespace().namespace(flow.getNamespace()).id(flow.getId()));
+                }
+            })
+            .blockLast();
+
+        // the flows remaining in the previous manifest don't exist anymore
+        List<IdWithNamespace> deleted = previous.values().stream()
+            .map(flow -> new IdWithNamespace().namespace((String) flow.get("namespace")).id((String) flow.get("id")))
+            .toList();
+
+        URI storedFileUri = null;
+        if (!changed.isEmpty()) {
+            File tempFile = runContext.workingDir().createTempFile(".zip").toFile();
+            try (InputStream inputStream = kestraHttpClient(runContext).post("/api/v1/" + tId + "/flows/export/by-ids", changed)) {
+                Files.copy(inputStream, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            try (InputStream inputStream = new FileInputStream(tempFile)) {
+                FlowArchives.forEachFlow(inputStream, flow -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("namespace", flow.namespace());
+                    entry.put("id", flow.id());
+                    entry.put("revision", changedRevisions.get(flow.key()));
+                    entry.put("hash", flow.hash());
+                    manifest.put(flow.key(), entry);
+                });
+            }
+
+            storedFileUri = runContext.storage().putFile(tempFile, "exported_flows.zip");
+        }
+
+        kvStore.put(rManifestKey, new KVValueAndMetadata(
+            new KVMetadata("Manifest of the flows exported incrementally", (Duration) null),
+            new ArrayList<>(manifest.values())
+        ));
+
+        runContext.logger().info("Exported {} new or updated flows, {} flows unchanged, {} flows deleted", changed.size(), unchanged.get(), deleted.size());
+
+        return Export.Output.builder()
+            .flowsZip(storedFileUri)
+            .changed(changed.size())
+            .deleted(deleted)
+            .build();
+    }
+
+    private Export.Output runSharded(RunContext runContext, String tId, String rNamespace, List<String> rLabels) throws Exception {
+        ShardOutput rShardOutput = runContext.render(shardOutput).as(ShardOutput.class).orElse(ShardOutput.MERGED);
+        boolean rDeduplicate = runContext.render(deduplicate).as(Boolean.class).orElse(false);
+        if (rDeduplicate && rShardOutput == ShardOutput.PER_NAMESPACE) {
+            throw new IllegalArgumentException("Deduplication can't be used with the `PER_NAMESPACE` sharded output");
+        }
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(4);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        // the flows are grouped by their own namespace, so that no shard also exports the flows of the child namespaces
+        Map<String, List<IdWithNamespace>> namespaceFlows = new TreeMap<>();
+        FlowPages.searchAll(kestraClient(runContext), tId, null, rNamespace, rLabels, MANIFEST_PAGE_SIZE)
+            .doOnNext(flow -> namespaceFlows.computeIfAbsent(flow.getNamespace(), ns -> new ArrayList<>())
+                .add(new IdWithNamespace().namespace(flow.getNamespace()).id(flow.getId())))
+            .blockLast();
+        List<String> namespaces = new ArrayList<>(namespaceFlows.keySet());
+
+        runContext.logger().info("Exporting the flows of {} namespaces with concurrency={}", namespaces.size(), rConcurrency);
+
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+        Map<String, URI> namespaceArchives = new ConcurrentSkipListMap<>();
+        List<String> failedNamespaces = new CopyOnWriteArrayList<>();
+
+        File mergedFile = runContext.workingDir().createTempFile(".zip").toFile();
+        int exported;
+        try (FlowArchiveMerger merger = new FlowArchiveMerger(mergedFile)) {
+            Flux.fromIterable(namespaces)
+                .flatMap(
+                    ns -> Mono.fromRunnable(() -> {
+                            try {
+                                File shardFile = runContext.workingDir().createTempFile(".zip").toFile();
+                                try {
+                                    exportNamespace(httpClient, limiter, tId, namespaceFlows.get(ns), shardFile);
+                                    if (rShardOutput == ShardOutput.PER_NAMESPACE) {
+                                        namespaceArchives.put(ns, runContext.storage().putFile(shardFile, ns + ".zip"));
+                                    } else {
+                                        try (InputStream inputStream = new FileInputStream(shardFile)) {
+                                            merger.add(inputStream);
+                                        }
+                                    }
+                                } finally {
+                                    Files.deleteIfExists(shardFile.toPath());
+                                }
+                            } catch (Exception e) {
+                                runContext.logger().error("Unable to export the flows of namespace '{}'", ns, e);
+                                failedNamespaces.add(ns);
+                            }
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()),
+                    rConcurrency
+                )
+                .blockLast();
+
+            exported = merger.size();
+        }
+
+        if (!namespaces.isEmpty() && failedNamespaces.size() == namespaces.size()) {
+            throw new IllegalStateException("Unable to export the flows of any of the " + namespaces.size() + " namespaces");
+        }
+
+        runContext.metric(Counter.of("namespaces", namespaces.size()));
+        runContext.metric(Counter.of("failed", failedNamespaces.size()));
+        runContext.metric(Counter.of("throttled", limiter.throttled()));
+
+        if (rShardOutput == ShardOutput.PER_NAMESPACE) {
+            Files.delete(mergedFile.toPath());
+            return Export.Output.builder()
+                .namespaceArchives(namespaceArchives)
+                .failedNamespaces(failedNamespaces.stream().sorted().toList())
+                .build();
+        }
+
+        runContext.logger().info("Exported {} flows from {} namespaces", exported, namespaces.size() - failedNamespaces.size());
+
+        if (rDeduplicate) {
+            return storeDeduplicated(runContext, mergedFile)
+                .failedNamespaces(failedNamespaces.stream().sorted().toList())
+                .build();
+        }
+
+        return Export.Output.builder()
+            .flowsZip(runContext.storage().putFile(mergedFile, "exported_flows.zip"))
+            .failedNamespaces(failedNamespaces.stream().sorted().toList())
+            .build();
+    }
+
+    /**
+     * Stores the deterministic version of the archive, unless the previous export stored the exact same archive.
+     */
+    private Export.Output.OutputBuilder storeDeduplicated(RunContext runContext, File archive) throws Exception {
+        String rDeduplicationKey = runContext.render(deduplicationKey).as(String.class).orElseThrow();
+        KVStore kvStore = runContext.namespaceKv(runContext.flowInfo().namespace());
+
+        File deterministicFile = runContext.workingDir().createTempFile(".zip").toFile();
+        String hash = FlowArchives.writeDeterministic(archive, deterministicFile);
+        Files.delete(archive.toPath());
+
+        Optional<KVValue> previous = kvStore.getValue(rDeduplicationKey);
+        if (previous.isPresent()) {
+            Map<String, Object> last = JacksonMapper.toMap(previous.get().value());
+            if (hash.equals(last.get("hash")) && last.get("uri") instanceof String uri && runContext.storage().isFileExist(URI.create(uri))) {
+                Files.delete(deterministicFile.toPath());
+                runContext.logger().info("The exported flows did not change since the previous export, reusing archive {}", uri);
+
+                return Export.Output.builder()
+                    .flowsZip(URI.create(uri))
+                    .hash(hash)
+                    .archiveChanged(false);
+            }
+        }
+
+        URI storedFileUri = runContext.storage().putFile(deterministicFile, "exported_flows.zip");
+        kvStore.put(rDeduplicationKey, new KVValueAndMetadata(
+            new KVMetadata("Hash and URI of the last exported flows archive", (Duration) null),
+            Map.of("hash", hash, "uri", storedFileUri.toString())
+        ));
+
+        return Export.Output.builder()
+            .flowsZip(storedFileUri)
+            .hash(hash)
+            .archiveChanged(true);
+    }
+
+    /**
+     * Downloads the archive of the flows of a namespace to a file, by their IDs.
+     */
+    private static void exportNamespace(
+        KestraHttpClient httpClient,
+        AdaptiveConcurrencyLimiter limiter,
+        String tId,
+        List<IdWithNamespace> flows,
+        File shardFile
+    ) throws Exception {
+        limiter.call(() -> {
+            try (InputStream inputStream = httpClient.post("/api/v1/" + tId + "/flows/export/by-ids", flows)) {
+                Files.copy(inputStream, shardFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return shardFile;
+        });
+    }
+
+    public enum ShardOutput {
+        MERGED,
+        PER_NAMESPACE
+    }
 
     @Builder
     @Getter
@@ -89,5 +464,41 @@ public class Export extends AbstractKestraTask implements RunnableTask<Export.Ou
             title = "URI of the exported flows ZIP file"
         )
         private URI flowsZip;
+
+        @Schema(
+            title = "The number of new or updated flows exported",
+            description = "Only set in incremental mode, `flowsZip` is null when no flow changed."
+        )
+        private Integer changed;
+
+        @Schema(
+            title = "The flows deleted since the previous export",
+            description = "Only set in incremental mode."
+        )
+        private List<IdWithNamespace> deleted;
+
+        @Schema(
+            title = "URI of the exported flows ZIP file of each namespace",
+            description = "Only set in sharded mode with the `PER_NAMESPACE` output. Each archive only contains the flows of its own namespace."
+        )
+        private Map<String, URI> namespaceArchives;
+
+        @Schema(
+            title = "The namespaces that could not be exported",
+            description = "Only set in sharded mode."
+        )
+        private List<String> failedNamespaces;
+
+        @Schema(
+            title = "The SHA-256 hash of the exported flows archive",
+            description = "Only set when deduplicating."
+        )
+        private String hash;
+
+        @Schema(
+            title = "Whether the archive differs from the one of the previous export",
+            description = "Only set when deduplicating, when false `flowsZip` is the URI of the previous archive so the downstream tasks can be skipped."
+        )
+        private Boolean archiveChanged;
     }
 }
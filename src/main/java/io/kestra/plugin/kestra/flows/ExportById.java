@@ -2,20 +2,32 @@ package io.kestra.plugin.kestra.flows;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
 import io.kestra.sdk.model.IdWithNamespace;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.Map;
 
 @SuperBuilder
 @ToString
@@ -24,7 +36,8 @@ import java.util.List;
 @NoArgsConstructor
 @Schema(
     title = "Export Kestra flows",
-    description = "Exports one or more Kestra flows as a ZIP archive. You can specify flows by their ID and namespace."
+    description = "Exports one or more Kestra flows as a ZIP archive. You can specify flows by their ID and namespace. " +
+        "The flows are exported in chunks fetched concurrently, then merged into a single archive."
 )
 @Plugin(
     examples = {
@@ -70,33 +83,157 @@ import java.util.List;
                       - id: flow_three
                         namespace: common.utils
                 """
+        ),
+        @Example(
+            title = "Export the flows listed in a file produced by a previous task",
+            full = true,
+            code = """
+                id: export_flows_from_file
+                namespace: company.team
+
+                tasks:
+                  - id: list_flows
+                    type: io.kestra.plugin.kestra.flows.List
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company
+                    fetchType: STORE
+
+                  - id: export_flows
+                    type: io.kestra.plugin.kestra.flows.ExportById
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    from: "{{ outputs.list_flows.uri }}"
+                    chunkSize: 500
+                """
         )
     }
 )
 public class ExportById extends AbstractKestraTask implements RunnableTask<ExportById.Output> {
 
-    @Schema(title = "The flows to export.")
+    @Schema(
+        title = "The flows to export.",
+        description = "Either `flows` or `from` must be set."
+    )
     public Property<List<IdWithNamespace>> flows;
 
+    @Schema(
+        title = "The URI of an ION or JSONL file from the internal storage containing the flows to export.",
+        description = "Each row must be a map with the `namespace` and the `id` of a flow. The file is read as the chunks are exported, " +
+            "so large lists of flows produced by a previous task never have to be rendered in the task properties. Either `flows` or `from` must be set."
+    )
+    private Property<String> from;
+
+    @Schema(title = "The maximum number of flows exported by a single request.")
+    @Builder.Default
+    private Property<Integer> chunkSize = Property.ofValue(100);
+
+    @Schema(
+        title = "The maximum number of chunks exported concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(title = "The maximum number of retries of a chunk whose request was throttled (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
     @Override
     public ExportById.Output run(RunContext runContext) throws Exception {
         String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        List<IdWithNamespace> ids = runContext.render(flows).asList(IdWithNamespace.class);
+        String rFrom = runContext.render(from).as(String.class).orElse(null);
+        if ((rFrom == null) == (flows == null)) {
+            throw new IllegalArgumentException("Exactly one of `flows` or `from` must be set");
+        }
+        int rChunkSize = runContext.render(chunkSize).as(Integer.class).orElse(100);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(4);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        if (rChunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be greater than 0, got " + rChunkSize);
+        }
 
-        KestraClient kestraClient = kestraClient(runContext);
-        byte[] zipBytes = kestraClient.flows().exportFlowsByIds(tId, ids);
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
 
+        // each chunk is downloaded to a temporary file then copied into the merged archive, no archive is held in memory
+        File mergedFile = runContext.workingDir().createTempFile(".zip").toFile();
+        Long chunks;
+        int exported;
+        int duplicates;
+        try (
+            FlowArchiveMerger merger = new FlowArchiveMerger(mergedFile);
+            BufferedReader reader = rFrom == null ? null : new BufferedReader(new InputStreamReader(runContext.storage().getFile(URI.create(rFrom))), FileSerde.BUFFER_SIZE)
+        ) {
+            Flux<IdWithNamespace> ids = reader == null ?
+                Flux.fromIterable(runContext.render(flows).asList(IdWithNamespace.class)) :
+                FileSerde.readAll(reader).map(ExportById::toIdWithNamespace);
 
-        InputStream inputStream = new ByteArrayInputStream(zipBytes);
-        String fileName = "exported_flows.zip";
-        URI storedFileUri = runContext.storage().putFile(inputStream, fileName);
+            chunks = ids
+                .buffer(rChunkSize)
+                .flatMap(
+                    chunk -> Mono.fromCallable(() -> {
+                            exportChunk(runContext, httpClient, limiter, tId, chunk, merger);
+                            return chunk.size();
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()),
+                    rConcurrency
+                )
+                .count()
+                .block();
 
+            exported = merger.size();
+            duplicates = merger.duplicates();
+        }
+
+        runContext.metric(Counter.of("chunks", chunks));
+        runContext.metric(Counter.of("exported", exported));
+        runContext.metric(Counter.of("throttled", limiter.throttled()));
+        runContext.logger().info("Exported {} flows in {} chunks, {} duplicates skipped", exported, chunks, duplicates);
 
         return ExportById.Output.builder()
-            .flowsZip(storedFileUri)
+            .flowsZip(runContext.storage().putFile(mergedFile, "exported_flows.zip"))
+            .size(exported)
             .build();
     }
 
+    private static IdWithNamespace toIdWithNamespace(Object row) {
+        if (!(row instanceof Map<?, ?> flow) || !(flow.get("namespace") instanceof String ns) || !(flow.get("id") instanceof String id)) {
+            throw new IllegalArgumentException("Each row must be a map with a `namespace` and an `id`, got: " + row);
+        }
+
+        return new IdWithNamespace().namespace(ns).id(id);
+    }
+
+    private void exportChunk(
+        RunContext runContext,
+        KestraHttpClient httpClient,
+        AdaptiveConcurrencyLimiter limiter,
+        String tId,
+        List<IdWithNamespace> chunk,
+        FlowArchiveMerger merger
+    ) throws Exception {
+        File chunkFile = runContext.workingDir().createTempFile(".zip").toFile();
+        try {
+            limiter.call(() -> {
+                try (InputStream inputStream = httpClient.post("/api/v1/" + tId + "/flows/export/by-ids", chunk)) {
+                    Files.copy(inputStream, chunkFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                return chunkFile;
+            });
+
+            try (InputStream inputStream = new FileInputStream(chunkFile)) {
+                merger.add(inputStream);
+            }
+        } finally {
+            Files.delete(chunkFile.toPath());
+        }
+    }
 
     @Builder
     @Getter
@@ -105,5 +242,8 @@ public class ExportById extends AbstractKestraTask implements RunnableTask<Expor
             title = "URI of the exported flows ZIP file"
         )
         private URI flowsZip;
+
+        @Schema(title = "The number of exported flows")
+        private Integer size;
     }
 }
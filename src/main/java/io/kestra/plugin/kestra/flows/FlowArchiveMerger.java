@@ -0,0 +1,60 @@
+package io.kestra.plugin.kestra.flows;
+
+import io.kestra.core.serializers.FileSerde;
+
+import java.io.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Merges the flow sources of several export archives into a single ZIP file, keeping only the first source of each flow.
+ * <p>
+ * Archives can be added concurrently, each one is copied entry by entry under a lock so the merged file
+ * is written as the archives arrive and never held in memory.
+ */
+class FlowArchiveMerger implements Closeable {
+    private final ZipOutputStream output;
+    private final Set<String> keys = new HashSet<>();
+    private int duplicates;
+
+    FlowArchiveMerger(File file) throws IOException {
+        this.output = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file), FileSerde.BUFFER_SIZE));
+    }
+
+    /**
+     * Copies the flow sources of the archive, skipping the flows already merged.
+     */
+    synchronized void add(InputStream archive) throws Exception {
+        FlowArchives.forEachFlow(archive, flow -> {
+            if (!keys.add(flow.key())) {
+                duplicates++;
+                return;
+            }
+
+            output.putNextEntry(new ZipEntry(flow.entryName()));
+            output.write(flow.source());
+            output.closeEntry();
+        });
+    }
+
+    /**
+     * The number of flows merged so far.
+     */
+    synchronized int size() {
+        return keys.size();
+    }
+
+    /**
+     * The number of flow sources skipped because the flow was already merged from another archive.
+     */
+    synchronized int duplicates() {
+        return duplicates;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,145 @@
+package io.kestra.plugin.kestra.flows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.Rethrow;
+import reactor.core.publisher.Flux;
+
+import java.io.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Reads the flow sources of the ZIP archives produced by the flow export endpoints.
+ */
+final class FlowArchives {
+    private static final ObjectMapper YAML_MAPPER = JacksonMapper.ofYaml();
+    // the lowest date of the ZIP format, set as a local time so the archive doesn't depend on the worker time zone
+    private static final LocalDateTime FIXED_TIME = LocalDateTime.of(1980, 1, 1, 0, 0);
+
+    private FlowArchives() {
+        // utility class
+    }
+
+    /**
+     * Calls the consumer with each flow source of the archive, entries are read one at a time from the stream.
+     */
+    static void forEachFlow(InputStream archive, Rethrow.ConsumerChecked<FlowSource, Exception> consumer) throws Exception {
+        try (ZipInputStream zip = new ZipInputStream(archive)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    consumer.accept(FlowSource.of(entry.getName(), zip.readAllBytes()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams the entries of the archive without parsing them, an entry is only read once the previous one has been consumed.
+     */
+    static Flux<Entry> entries(Callable<InputStream> archive) {
+        return Flux.using(
+            () -> new ZipInputStream(archive.call()),
+            zip -> Flux.<Entry>generate(sink -> {
+                try {
+                    ZipEntry entry = zip.getNextEntry();
+                    while (entry != null && entry.isDirectory()) {
+                        entry = zip.getNextEntry();
+                    }
+
+                    if (entry == null) {
+                        sink.complete();
+                    } else {
+                        sink.next(new Entry(entry.getName(), zip.readAllBytes()));
+                    }
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+            }),
+            Rethrow.throwConsumer(ZipInputStream::close)
+        );
+    }
+
+    /**
+     * Rewrites an archive with its entries sorted by name and fixed timestamps, so the same flows always produce the same bytes,
+     * and returns the SHA-256 hash of the rewritten archive computed while it is written.
+     */
+    static String writeDeterministic(File source, File target) throws IOException {
+        MessageDigest digest = sha256Digest();
+
+        try (
+            ZipFile zipFile = new ZipFile(source);
+            ZipOutputStream output = new ZipOutputStream(new DigestOutputStream(new BufferedOutputStream(new FileOutputStream(target), FileSerde.BUFFER_SIZE), digest))
+        ) {
+            output.setLevel(Deflater.DEFAULT_COMPRESSION);
+
+            List<? extends ZipEntry> entries = zipFile.stream()
+                .filter(entry -> !entry.isDirectory())
+                .sorted(Comparator.comparing(ZipEntry::getName))
+                .toList();
+
+            for (ZipEntry entry : entries) {
+                ZipEntry copy = new ZipEntry(entry.getName());
+                copy.setTimeLocal(FIXED_TIME);
+                output.putNextEntry(copy);
+                try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                    inputStream.transferTo(output);
+                }
+                output.closeEntry();
+            }
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String key(String namespace, String id) {
+        return namespace + ":" + id;
+    }
+
+    static String sha256(byte[] content) {
+        return HexFormat.of().formatHex(sha256Digest().digest(content));
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record Entry(String name, byte[] content) {}
+
+    record FlowSource(String entryName, String namespace, String id, byte[] source) {
+        static FlowSource of(String entryName, byte[] source) throws IOException {
+            JsonNode flow = YAML_MAPPER.readTree(source);
+            if (flow == null || !flow.hasNonNull("namespace") || !flow.hasNonNull("id")) {
+                throw new IllegalArgumentException("Entry '" + entryName + "' is not a valid flow source, it must have a namespace and an id");
+            }
+
+            return new FlowSource(entryName, flow.get("namespace").asText(), flow.get("id").asText(), source);
+        }
+
+        String key() {
+            return FlowArchives.key(namespace, id);
+        }
+
+        String hash() {
+            return sha256(source);
+        }
+    }
+}
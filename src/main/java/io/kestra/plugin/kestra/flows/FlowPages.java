@@ -0,0 +1,38 @@
+package io.kestra.plugin.kestra.flows;
+
+import io.kestra.plugin.kestra.Paginator;
+import io.kestra.sdk.KestraClient;
+import io.kestra.sdk.model.Flow;
+import io.kestra.sdk.model.PagedResultsFlow;
+import jakarta.annotation.Nullable;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Streams the flows matching a search, page by page.
+ */
+final class FlowPages {
+    private FlowPages() {
+        // utility class
+    }
+
+    /**
+     * Lazily streams the flows of every page, a page is only fetched once the previous one has been consumed.
+     */
+    static Flux<Flow> searchAll(
+        KestraClient kestraClient,
+        String tenantId,
+        @Nullable String query,
+        @Nullable String namespace,
+        List<String> labels,
+        int size
+    ) {
+        return Paginator.items(
+            (page, pageSize) -> kestraClient.flows().searchFlows(page, pageSize, tenantId, null, null, query, null, namespace, labels),
+            PagedResultsFlow::getResults,
+            PagedResultsFlow::getTotal,
+            size
+        );
+    }
+}
@@ -0,0 +1,270 @@
+package io.kestra.plugin.kestra.flows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.kestra.sdk.internal.ApiException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.*;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Import Kestra flows",
+    description = "Imports the flows of a ZIP archive, such as the ones produced by the `Export` and `ExportById` tasks. " +
+        "The flows are processed in batches: the current source of each flow of a batch is fetched concurrently and compared by content hash, " +
+        "then only the new or changed flows are created or updated. An archive entry that is not a valid flow, or a flow that can't be fetched or saved, is reported in an ION file instead of failing the task."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Promote the flows of a namespace from a development instance to a production instance",
+            full = true,
+            code = """
+                id: promote_flows
+                namespace: company.team
+
+                tasks:
+                  - id: export_flows
+                    type: io.kestra.plugin.kestra.flows.Export
+                    kestraUrl: https://dev.kestra.company.com
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company.data
+
+                  - id: import_flows
+                    type: io.kestra.plugin.kestra.flows.Import
+                    kestraUrl: https://prod.kestra.company.com
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    from: "{{ outputs.export_flows.flowsZip }}"
+                    concurrency: 8
+                """
+        )
+    }
+)
+public class Import extends AbstractKestraTask implements RunnableTask<Import.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Schema(title = "The URI of a ZIP archive of flow sources from the internal storage.")
+    @NotNull
+    private Property<String> from;
+
+    @Schema(title = "The number of flows read from the archive and imported together, only the sources of a batch are kept in memory.")
+    @Builder.Default
+    private Property<Integer> batchSize = Property.ofValue(50);
+
+    @Schema(
+        title = "The maximum number of flows fetched, created or updated concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Override
+    public Import.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        URI rFrom = URI.create(runContext.render(from).as(String.class).orElseThrow());
+        int rBatchSize = runContext.render(batchSize).as(Integer.class).orElse(50);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(4);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        if (rBatchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be greater than 0, got " + rBatchSize);
+        }
+
+        Context context = new Context(runContext, kestraHttpClient(runContext), new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries), tId, rConcurrency);
+
+        // the archive is read one entry at a time, only the sources of the current batch are kept in memory
+        List<FlowArchives.FlowSource> batch = new ArrayList<>();
+        FlowArchives.entries(() -> new BufferedInputStream(runContext.storage().getFile(rFrom), FileSerde.BUFFER_SIZE))
+            .doOnNext(entry -> {
+                FlowArchives.FlowSource flow;
+                try {
+                    flow = FlowArchives.FlowSource.of(entry.name(), entry.content());
+                } catch (Exception e) {
+                    context.failures.add(Map.of(
+                        "entryName", entry.name(),
+                        "error", Objects.toString(e.getMessage(), e.getClass().getName())
+                    ));
+                    return;
+                }
+
+                batch.add(flow);
+                if (batch.size() >= rBatchSize) {
+                    importBatch(context, batch);
+                    batch.clear();
+                }
+            })
+            .blockLast();
+        if (!batch.isEmpty()) {
+            importBatch(context, batch);
+        }
+
+        runContext.metric(Counter.of("created", context.created.get()));
+        runContext.metric(Counter.of("updated", context.updated.get()));
+        runContext.metric(Counter.of("unchanged", context.unchanged.get()));
+        runContext.metric(Counter.of("failed", context.failures.size()));
+        runContext.metric(Counter.of("throttled", context.limiter.throttled()));
+
+        Output.OutputBuilder output = Output.builder()
+            .created(context.created.get())
+            .updated(context.updated.get())
+            .unchanged(context.unchanged.get())
+            .failed((long) context.failures.size());
+
+        if (!context.failures.isEmpty()) {
+            runContext.logger().warn("Unable to import {} flows", context.failures.size());
+
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+                FileSerde.writeAll(fileOutput, Flux.fromIterable(context.failures)).block();
+            }
+            output.failures(runContext.storage().putFile(tempFile));
+        }
+
+        return output.build();
+    }
+
+    private void importBatch(Context context, List<FlowArchives.FlowSource> batch) {
+        Flux.fromIterable(new ArrayList<>(batch))
+            .flatMap(
+                flow -> Mono.fromRunnable(() -> importFlow(context, flow))
+                    .subscribeOn(Schedulers.boundedElastic()),
+                context.concurrency
+            )
+            .blockLast();
+
+        context.runContext.logger().info(
+            "Imported {} flows: {} created, {} updated, {} unchanged, {} failed",
+            context.created.get() + context.updated.get() + context.unchanged.get() + context.failures.size(),
+            context.created.get(), context.updated.get(), context.unchanged.get(), context.failures.size()
+        );
+    }
+
+    private void importFlow(Context context, FlowArchives.FlowSource flow) {
+        String path = "/api/v1/" + context.tenantId + "/flows/" + encode(flow.namespace()) + "/" + encode(flow.id());
+
+        try {
+            Optional<String> currentHash = currentHash(context, path);
+            if (currentHash.isEmpty()) {
+                context.limiter.call(() -> {
+                    context.httpClient.send("POST", "/api/v1/" + context.tenantId + "/flows", "application/x-yaml", flow.source()).close();
+                    return null;
+                });
+                context.created.incrementAndGet();
+            } else if (flow.hash().equals(currentHash.get())) {
+                context.unchanged.incrementAndGet();
+            } else {
+                context.limiter.call(() -> {
+                    context.httpClient.send("PUT", path, "application/x-yaml", flow.source()).close();
+                    return null;
+                });
+                context.updated.incrementAndGet();
+            }
+        } catch (Exception e) {
+            context.failures.add(Map.of(
+                "entryName", flow.entryName(),
+                "namespace", flow.namespace(),
+                "id", flow.id(),
+                "error", Objects.toString(e.getMessage(), e.getClass().getName())
+            ));
+        }
+    }
+
+    /**
+     * Fetches the hash of the current source of a flow, or empty when the flow doesn't exist yet.
+     */
+    private static Optional<String> currentHash(Context context, String path) throws Exception {
+        try {
+            Map<String, Object> current = context.limiter.call(() -> {
+                try (InputStream inputStream = context.httpClient.get(path, Map.of("source", List.of("true")))) {
+                    return MAPPER.readValue(inputStream, JacksonMapper.MAP_TYPE_REFERENCE);
+                }
+            });
+            // a flow returned without its source is always updated
+            return Optional.of(current.get("source") instanceof String source ? FlowArchives.sha256(source.getBytes(StandardCharsets.UTF_8)) : "");
+        } catch (ApiException e) {
+            if (e.getCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @RequiredArgsConstructor
+    private static class Context {
+        private final RunContext runContext;
+        private final KestraHttpClient httpClient;
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final String tenantId;
+        private final int concurrency;
+
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong unchanged = new AtomicLong();
+        private final Queue<Map<String, String>> failures = new ConcurrentLinkedQueue<>();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "The number of created flows")
+        private Long created;
+
+        @Schema(title = "The number of updated flows")
+        private Long updated;
+
+        @Schema(title = "The number of flows whose source was already the same")
+        private Long unchanged;
+
+        @Schema(title = "The number of flows that could not be imported")
+        private Long failed;
+
+        @Schema(
+            title = "URI of an ION file with the flows that could not be imported",
+            description = "Each row contains the archive `entryName` and the `error`, with the `namespace` and the `id` of the flow when the entry is a valid flow. Only set when at least one import failed."
+        )
+        private URI failures;
+    }
+}
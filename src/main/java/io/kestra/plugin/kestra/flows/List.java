@@ -4,13 +4,22 @@ import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.kestra.AbstractKestraTask;
 import io.kestra.sdk.KestraClient;
 import io.kestra.sdk.model.Flow;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.net.URI;
 
 @SuperBuilder
 @ToString
@@ -19,7 +28,8 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @Schema(
     title = "List Kestra flows",
-    description = "Lists all flows within a specified namespace or the current flow's namespace if none is provided."
+    description = "Lists all flows within a specified namespace or the current flow's namespace if none is provided. " +
+        "The flows are searched page by page, use `fetchType: STORE` to stream large listings to an ION file instead of the task output."
 )
 @Plugin(
     examples = {
@@ -56,6 +66,44 @@ import lombok.experimental.SuperBuilder;
                     namespace: dev.flows
                     tenantId: myorganization
                 """
+        ),
+        @Example(
+            title = "Store the flows of a large namespace in a file",
+            full = true,
+            code = """
+                id: store_namespace_flows
+                namespace: company.team
+
+                tasks:
+                  - id: list_flows
+                    type: io.kestra.plugin.kestra.flows.List
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company.data
+                    fetchType: STORE
+                """
+        ),
+        @Example(
+            title = "Inventory the flows of a namespace and all its child namespaces",
+            full = true,
+            code = """
+                id: inventory_company_flows
+                namespace: company.team
+
+                tasks:
+                  - id: list_flows
+                    type: io.kestra.plugin.kestra.flows.List
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company
+                    includeChildNamespaces: true
+                    summaryOnly: true
+                    fetchType: STORE
+                """
         )
     }
 )
@@ -64,25 +112,107 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
     @Schema(title = "The namespace to list flows on, if null, will default to the namespace of the current flow.")
     private Property<String> namespace;
 
+    @Schema(
+        title = "The way the fetched flows will be stored.",
+        description = "`FETCH` outputs the flows in `flows`, `FETCH_ONE` outputs the first flow in `flow` and `STORE` writes the flows to an ION file."
+    )
+    @Builder.Default
+    private Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
+
+    @Schema(
+        title = "The number of flows fetched per page.",
+        description = "Only used with `includeChildNamespaces`, the flows of a single namespace are fetched at once."
+    )
+    @Builder.Default
+    private Property<Integer> size = Property.ofValue(100);
+
+    @Schema(
+        title = "Also list the flows of the child namespaces.",
+        description = "The flows of the namespace and all its child namespaces are listed by a single paginated search. " +
+            "If false, only the flows of the namespace itself are fetched."
+    )
+    @Builder.Default
+    private Property<Boolean> includeChildNamespaces = Property.ofValue(false);
+
+    @Schema(
+        title = "Only output the ID, namespace, revision and disabled flag of each flow.",
+        description = "Keeps the output small when the task definitions are not needed, for example to build an inventory."
+    )
+    @Builder.Default
+    private Property<Boolean> summaryOnly = Property.ofValue(false);
+
     @Override
     public List.Output run(RunContext runContext) throws Exception {
         String ns = runContext.render(namespace).as(String.class).orElseGet(() -> runContext.flowInfo().namespace());
         String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        int rSize = runContext.render(size).as(Integer.class).orElse(100);
+
+        boolean rIncludeChildNamespaces = runContext.render(includeChildNamespaces).as(Boolean.class).orElse(false);
+        boolean rSummaryOnly = runContext.render(summaryOnly).as(Boolean.class).orElse(false);
 
         KestraClient kestraClient = kestraClient(runContext);
-        java.util.List<Flow> flows = kestraClient.flows().listFlowsByNamespace(ns, tId);
+        Flux<Flow> flows = !rIncludeChildNamespaces ?
+            Mono.fromCallable(() -> kestraClient.flows().listFlowsByNamespace(ns, tId)).flatMapIterable(namespaceFlows -> namespaceFlows) :
+            // the search namespace is a prefix, so a single search also returns the flows of the child namespaces
+            FlowPages.searchAll(kestraClient, tId, null, ns, java.util.List.of(), rSize)
+                .filter(flow -> flow.getNamespace().equals(ns) || flow.getNamespace().startsWith(ns + "."));
+
+        if (rSummaryOnly) {
+            flows = flows.map(flow -> new Flow()
+                .id(flow.getId())
+                .namespace(flow.getNamespace())
+                .revision(flow.getRevision())
+                .disabled(flow.getDisabled())
+            );
+        }
+
+        Output.OutputBuilder output = Output.builder();
+        switch (runContext.render(fetchType).as(FetchType.class).orElse(FetchType.FETCH)) {
+            case STORE -> {
+                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+                Long count;
+                try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+                    count = FileSerde.writeAll(fileOutput, flows).block();
+                }
+                output.uri(runContext.storage().putFile(tempFile)).size(count);
+            }
+            case FETCH -> {
+                java.util.List<Flow> fetched = flows.collectList().block();
+                output.flows(fetched).size((long) fetched.size());
+            }
+            case FETCH_ONE -> {
+                Flow first = flows.next().block();
+                output.flow(first).size(first == null ? 0L : 1L);
+            }
+            default -> {
+            }
+        }
 
-        return Output.builder()
-            .flows(flows)
-            .build();
+        return output.build();
     }
 
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(
-            title = "A list of Kestra flows found."
+            title = "A list of Kestra flows found.",
+            description = "Only populated if using `fetchType=FETCH`."
         )
         private java.util.List<Flow> flows;
+
+        @Schema(
+            title = "The first Kestra flow found",
+            description = "Only populated if using `fetchType=FETCH_ONE`."
+        )
+        private Flow flow;
+
+        @Schema(
+            title = "The URI of the stored flows",
+            description = "Only populated if using `fetchType=STORE`."
+        )
+        private URI uri;
+
+        @Schema(title = "The number of flows fetched")
+        private Long size;
     }
 }
@@ -0,0 +1,334 @@
+package io.kestra.plugin.kestra.flows;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.kestra.sdk.model.Flow;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Prune old Kestra flow revisions",
+    description = "Deletes the old revisions of the flows matching a namespace prefix and labels. " +
+        "A revision is kept when it is one of the `keepLast` latest revisions or when it was created after `keepAfter`, and the current revision is always kept. " +
+        "Flows are processed concurrently and their old revisions are deleted in batches. Deleting revisions requires the Enterprise Edition."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Keep the last 20 revisions of every flow of a namespace",
+            full = true,
+            code = """
+                id: prune_flow_revisions
+                namespace: company.team
+
+                tasks:
+                  - id: prune
+                    type: io.kestra.plugin.kestra.flows.PruneRevisions
+                    kestraUrl: https://my-ee-instance.io
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company
+                    keepLast: 20
+
+                triggers:
+                  - id: weekly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 3 * * 0"
+                """
+        ),
+        @Example(
+            title = "Preview which revisions older than 90 days would be deleted",
+            full = true,
+            code = """
+                id: preview_prune_flow_revisions
+                namespace: company.team
+
+                tasks:
+                  - id: prune
+                    type: io.kestra.plugin.kestra.flows.PruneRevisions
+                    kestraUrl: https://my-ee-instance.io
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company.data
+                    keepAfter: "{{ now() | dateAdd(-90, 'DAYS') }}"
+                    dryRun: true
+                """
+        )
+    }
+)
+public class PruneRevisions extends AbstractKestraTask implements RunnableTask<PruneRevisions.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final int PAGE_SIZE = 100;
+
+    @Schema(title = "A namespace prefix filter.")
+    private Property<String> namespace;
+
+    @Schema(title = "A list of label with the format `key:value`")
+    private Property<List<String>> labels;
+
+    @Nullable
+    @Schema(
+        title = "The number of latest revisions to keep for each flow.",
+        description = "At least one of `keepLast` or `keepAfter` must be set."
+    )
+    private Property<Integer> keepLast;
+
+    @Nullable
+    @Schema(
+        title = "Keep the revisions created after this date.",
+        description = "At least one of `keepLast` or `keepAfter` must be set. A revision without date is kept as its age is unknown, " +
+            "and a flow none of whose revisions has a date is reported as failed."
+    )
+    private Property<ZonedDateTime> keepAfter;
+
+    @Schema(title = "The maximum number of revisions deleted by a single request.")
+    @Builder.Default
+    private Property<Integer> batchSize = Property.ofValue(100);
+
+    @Schema(
+        title = "The maximum number of flows processed concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Schema(title = "Only count the revisions that would be deleted, without deleting them.")
+    @Builder.Default
+    private Property<Boolean> dryRun = Property.ofValue(false);
+
+    @Override
+    public PruneRevisions.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        String rNamespace = runContext.render(namespace).as(String.class).orElse(null);
+        List<String> rLabels = runContext.render(labels).asList(String.class);
+        Integer rKeepLast = runContext.render(keepLast).as(Integer.class).orElse(null);
+        ZonedDateTime rKeepAfter = runContext.render(keepAfter).as(ZonedDateTime.class).orElse(null);
+        int rBatchSize = runContext.render(batchSize).as(Integer.class).orElse(100);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(4);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+        boolean rDryRun = runContext.render(dryRun).as(Boolean.class).orElse(false);
+
+        if (rKeepLast == null && rKeepAfter == null) {
+            throw new IllegalArgumentException("At least one of `keepLast` or `keepAfter` must be set");
+        }
+        if (rKeepLast != null && rKeepLast < 1) {
+            throw new IllegalArgumentException("`keepLast` must be greater than 0, got " + rKeepLast);
+        }
+
+        Context context = new Context(
+            kestraHttpClient(runContext),
+            new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries),
+            tId,
+            rKeepLast,
+            rKeepAfter == null ? null : rKeepAfter.toOffsetDateTime(),
+            rBatchSize,
+            rDryRun
+        );
+
+        FlowPages.searchAll(kestraClient(runContext), tId, null, rNamespace, rLabels, PAGE_SIZE)
+            .flatMap(
+                flow -> Mono.fromRunnable(() -> prune(context, flow))
+                    .subscribeOn(Schedulers.boundedElastic()),
+                rConcurrency
+            )
+            .blockLast();
+
+        if (context.undated.get() > 0) {
+            runContext.logger().warn("Kept {} revisions without date as their age is unknown", context.undated.get());
+        }
+
+        runContext.metric(Counter.of("flows", context.flows.get()));
+        runContext.metric(Counter.of("removed", context.removed.get()));
+        runContext.metric(Counter.of("failed", context.failures.size()));
+        runContext.logger().info(
+            "{} {} revisions of {} flows, {} flows failed",
+            rDryRun ? "Would remove" : "Removed", context.removed.get(), context.flows.get(), context.failures.size()
+        );
+
+        Output.OutputBuilder output = Output.builder()
+            .flows(context.flows.get())
+            .removed(context.removed.get())
+            .failed((long) context.failures.size());
+
+        if (!context.failures.isEmpty()) {
+            runContext.logger().warn("Unable to prune the revisions of {} flows", context.failures.size());
+
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+                FileSerde.writeAll(fileOutput, Flux.fromIterable(context.failures)).block();
+            }
+            output.failures(runContext.storage().putFile(tempFile));
+        }
+
+        return output.build();
+    }
+
+    private void prune(Context context, Flow flow) {
+        context.flows.incrementAndGet();
+        String path = "/api/v1/" + context.tenantId + "/flows/" + encode(flow.getNamespace()) + "/" + encode(flow.getId()) + "/revisions";
+
+        try {
+            List<Map<String, Object>> revisions = context.limiter.call(() -> {
+                try (InputStream inputStream = context.httpClient.get(path, Map.of())) {
+                    return MAPPER.readValue(inputStream, new TypeReference<List<Map<String, Object>>>() {});
+                }
+            });
+
+            if (context.keepAfter != null) {
+                long undated = revisions.stream().filter(revision -> !(revision.get("updated") instanceof String)).count();
+                if (undated > 0 && undated == revisions.size()) {
+                    throw new IllegalStateException("None of the revisions has an `updated` date, `keepAfter` can't be applied");
+                }
+                context.undated.addAndGet(undated);
+            }
+
+            List<Integer> prunable = prunableRevisions(revisions, flow.getRevision(), context.keepLast, context.keepAfter);
+            if (context.dryRun) {
+                context.removed.addAndGet(prunable.size());
+                return;
+            }
+
+            for (int from = 0; from < prunable.size(); from += context.batchSize) {
+                List<String> batch = prunable.subList(from, Math.min(from + context.batchSize, prunable.size())).stream()
+                    .map(String::valueOf)
+                    .toList();
+
+                context.limiter.call(() -> {
+                    context.httpClient.delete(path, Map.of("revisions", batch)).close();
+                    return null;
+                });
+                context.removed.addAndGet(batch.size());
+            }
+        } catch (Exception e) {
+            context.failures.add(Map.of(
+                "namespace", flow.getNamespace(),
+                "id", flow.getId(),
+                "error", Objects.toString(e.getMessage(), e.getClass().getName())
+            ));
+        }
+    }
+
+    /**
+     * The revisions that are neither among the latest ones nor newer than the date, the current revision is never returned.
+     */
+    private static List<Integer> prunableRevisions(
+        List<Map<String, Object>> revisions,
+        Integer currentRevision,
+        @Nullable Integer keepLast,
+        @Nullable OffsetDateTime keepAfter
+    ) {
+        List<Map<String, Object>> sorted = revisions.stream()
+            .filter(revision -> revision.get("revision") instanceof Number)
+            .sorted(Comparator.comparingInt((Map<String, Object> revision) -> ((Number) revision.get("revision")).intValue()).reversed())
+            .toList();
+
+        return sorted.stream()
+            .skip(keepLast == null ? 0 : keepLast)
+            .filter(revision -> {
+                int number = ((Number) revision.get("revision")).intValue();
+                if (currentRevision != null && number == currentRevision) {
+                    return false;
+                }
+
+                if (keepAfter != null) {
+                    // a revision without date is kept as its age is unknown
+                    if (!(revision.get("updated") instanceof String updated)) {
+                        return false;
+                    }
+                    return !OffsetDateTime.parse(updated).isAfter(keepAfter);
+                }
+
+                return true;
+            })
+            .map(revision -> ((Number) revision.get("revision")).intValue())
+            .toList();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @RequiredArgsConstructor
+    private static class Context {
+        private final KestraHttpClient httpClient;
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final String tenantId;
+        @Nullable
+        private final Integer keepLast;
+        @Nullable
+        private final OffsetDateTime keepAfter;
+        private final int batchSize;
+        private final boolean dryRun;
+
+        private final AtomicLong flows = new AtomicLong();
+        private final AtomicLong removed = new AtomicLong();
+        private final AtomicLong undated = new AtomicLong();
+        private final Queue<Map<String, String>> failures = new ConcurrentLinkedQueue<>();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "The number of processed flows")
+        private Long flows;
+
+        @Schema(
+            title = "The number of removed revisions",
+            description = "With `dryRun`, the number of revisions that would be removed."
+        )
+        private Long removed;
+
+        @Schema(title = "The number of flows whose revisions could not be pruned")
+        private Long failed;
+
+        @Schema(
+            title = "URI of an ION file with the flows whose revisions could not be pruned",
+            description = "Each row contains the `namespace`, the `id` and the `error`. Only set when at least one flow failed."
+        )
+        private URI failures;
+    }
+}
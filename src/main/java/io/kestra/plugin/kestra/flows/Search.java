@@ -0,0 +1,251 @@
+package io.kestra.plugin.kestra.flows;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.kestra.plugin.kestra.Paginator;
+import io.kestra.sdk.KestraClient;
+import io.kestra.sdk.model.PagedResultsFlow;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Search Kestra flows",
+    description = "Searches the flows with the server search, by query string, namespace prefix and labels. " +
+        "The first page gives the total number of results, then the other pages are fetched concurrently. " +
+        "Each flow is projected to a few fields, so searching a whole tenant stays cheap."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Find every flow whose source references a secret",
+            full = true,
+            code = """
+                id: find_secret_usages
+                namespace: company.team
+
+                tasks:
+                  - id: search
+                    type: io.kestra.plugin.kestra.flows.Search
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    query: AWS_SECRET_ACCESS_KEY
+                    inSource: true
+                """
+        ),
+        @Example(
+            title = "Search the flows of a namespace with a label",
+            full = true,
+            code = """
+                id: search_flows_by_label
+                namespace: company.team
+
+                tasks:
+                  - id: search
+                    type: io.kestra.plugin.kestra.flows.Search
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company
+                    labels:
+                      - team:data
+                    fields:
+                      - namespace
+                      - id
+                      - labels
+                    fetchType: FETCH
+                """
+        )
+    }
+)
+public class Search extends AbstractKestraTask implements RunnableTask<Search.Output> {
+    @Schema(title = "The query string.")
+    private Property<String> query;
+
+    @Schema(title = "A namespace prefix filter.")
+    private Property<String> namespace;
+
+    @Schema(
+        title = "A list of label with the format `key:value`",
+        description = "Not supported when searching in the sources."
+    )
+    private Property<List<String>> labels;
+
+    @Schema(
+        title = "Search the query in the flow sources.",
+        description = "The matching `fragments` of the source are added to each result. The labels filter is not supported by this search."
+    )
+    @Builder.Default
+    private Property<Boolean> inSource = Property.ofValue(false);
+
+    @Schema(
+        title = "The fields of the flows to output.",
+        description = "If empty, the whole flows are output."
+    )
+    @Builder.Default
+    private Property<List<String>> fields = Property.ofValue(List.of("namespace", "id", "revision", "disabled", "labels"));
+
+    @Schema(title = "The number of flows fetched per page.")
+    @Builder.Default
+    private Property<Integer> size = Property.ofValue(100);
+
+    @Schema(title = "The maximum number of pages fetched concurrently.")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(
+        title = "The way the fetched flows will be stored.",
+        description = "`STORE` streams the flows to an ION file, `FETCH` outputs them in `rows`, `FETCH_ONE` outputs the first one in `row` and `NONE` only outputs the `size`."
+    )
+    @Builder.Default
+    private Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
+
+    @Override
+    public Search.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        String rQuery = runContext.render(query).as(String.class).orElse(null);
+        String rNamespace = runContext.render(namespace).as(String.class).orElse(null);
+        List<String> rLabels = runContext.render(labels).asList(String.class);
+        boolean rInSource = runContext.render(inSource).as(Boolean.class).orElse(false);
+        List<String> rFields = runContext.render(fields).asList(String.class);
+        int rSize = runContext.render(size).as(Integer.class).orElse(100);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(4);
+
+        if (rInSource && !rLabels.isEmpty()) {
+            throw new IllegalArgumentException("The labels filter is not supported when searching in the sources");
+        }
+
+        KestraClient kestraClient = kestraClient(runContext);
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
+        AtomicLong total = new AtomicLong();
+
+        Paginator.PageFetcher<Page> fetcher = rInSource ?
+            (page, pageSize) -> sourcePage(httpClient, tId, rQuery, rNamespace, page, pageSize) :
+            (page, pageSize) -> {
+                PagedResultsFlow results = kestraClient.flows().searchFlows(page, pageSize, tId, null, null, rQuery, null, rNamespace, rLabels);
+                return new Page(results.getResults().stream().map(JacksonMapper::toMap).toList(), results.getTotal());
+            };
+
+        // the first page gives the total, the remaining pages are then fetched concurrently and kept in order
+        Flux<Map<String, Object>> flows = Paginator.pages(fetcher, Page::results, Page::total, rSize, rConcurrency)
+            .doOnNext(page -> total.set(page.total()))
+            .concatMapIterable(Page::results)
+            .map(flow -> project(flow, rFields));
+
+        Output.OutputBuilder output = Output.builder();
+        switch (runContext.render(fetchType).as(FetchType.class).orElse(FetchType.STORE)) {
+            case STORE -> {
+                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+                try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+                    FileSerde.writeAll(fileOutput, flows).block();
+                }
+                output.uri(runContext.storage().putFile(tempFile));
+            }
+            case FETCH -> output.rows(flows.collectList().block());
+            case FETCH_ONE -> output.row(flows.next().block());
+            // only the total is needed, it is read from a single-flow page
+            default -> total.set(fetcher.fetch(1, 1).total());
+        }
+
+        return output
+            .size(total.get())
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Page sourcePage(KestraHttpClient httpClient, String tId, String query, String namespace, int page, int size) throws Exception {
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        queryParameters.put("page", List.of(String.valueOf(page)));
+        queryParameters.put("size", List.of(String.valueOf(size)));
+        if (query != null) {
+            queryParameters.put("q", List.of(query));
+        }
+        if (namespace != null) {
+            queryParameters.put("namespace", List.of(namespace));
+        }
+
+        Map<String, Object> results;
+        try (InputStream inputStream = httpClient.get("/api/v1/" + tId + "/flows/source", queryParameters)) {
+            results = JacksonMapper.ofJson().readValue(inputStream, JacksonMapper.MAP_TYPE_REFERENCE);
+        }
+
+        // each result is the flow model with the matching fragments of its source
+        List<Map<String, Object>> flows = ((List<Map<String, Object>>) results.getOrDefault("results", List.of())).stream()
+            .map(result -> {
+                Map<String, Object> flow = new LinkedHashMap<>((Map<String, Object>) result.get("model"));
+                flow.put("fragments", result.get("fragments"));
+                return flow;
+            })
+            .toList();
+
+        return new Page(flows, ((Number) results.getOrDefault("total", 0)).longValue());
+    }
+
+    private static Map<String, Object> project(Map<String, Object> flow, List<String> fields) {
+        if (fields.isEmpty()) {
+            return flow;
+        }
+
+        Map<String, Object> projected = new LinkedHashMap<>();
+        fields.forEach(field -> projected.put(field, flow.get(field)));
+        if (flow.containsKey("fragments")) {
+            projected.put("fragments", flow.get("fragments"));
+        }
+        return projected;
+    }
+
+    private record Page(List<Map<String, Object>> results, long total) {}
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "List containing the found flows",
+            description = "Only populated if using `fetchType=FETCH`."
+        )
+        private List<Map<String, Object>> rows;
+
+        @Schema(
+            title = "The first found flow",
+            description = "Only populated if using `fetchType=FETCH_ONE`."
+        )
+        private Map<String, Object> row;
+
+        @Schema(
+            title = "The URI of the stored flows",
+            description = "Only populated if using `fetchType=STORE`."
+        )
+        private URI uri;
+
+        @Schema(title = "The number of flows matching the search")
+        private Long size;
+    }
+}
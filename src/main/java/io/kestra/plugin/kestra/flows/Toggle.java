@@ -0,0 +1,355 @@
+package io.kestra.plugin.kestra.flows;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.kestra.sdk.model.IdWithNamespace;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.*;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Enable or disable Kestra flows in bulk",
+    description = "Lists the flows matching the filters, then enables or disables them with the bulk endpoints, in concurrent batches. " +
+        "The matching flows are all listed before any toggle, as toggling a flow saves a new revision that could shift the pages of the search. " +
+        "The previous state of every toggled flow is stored in an ION file that can be given back to `restoreFrom` to revert the operation exactly."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Disable the flows of a namespace during a maintenance window, then restore them",
+            full = true,
+            code = """
+                id: maintenance_window
+                namespace: company.team
+
+                tasks:
+                  - id: disable_flows
+                    type: io.kestra.plugin.kestra.flows.Toggle
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company.data
+                    labels:
+                      - schedule:nightly
+                    enabled: false
+
+                  - id: maintenance
+                    type: io.kestra.plugin.core.flow.Pause
+                    pauseDuration: PT2H
+
+                  - id: restore_flows
+                    type: io.kestra.plugin.kestra.flows.Toggle
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    restoreFrom: "{{ outputs.disable_flows.previousState }}"
+                """
+        )
+    }
+)
+public class Toggle extends AbstractKestraTask implements RunnableTask<Toggle.Output> {
+    @Schema(title = "A namespace prefix filter.")
+    private Property<String> namespace;
+
+    @Schema(title = "A list of label with the format `key:value`")
+    private Property<List<String>> labels;
+
+    @Schema(
+        title = "Only toggle these flows.",
+        description = "Combined with the other filters."
+    )
+    private Property<List<IdWithNamespace>> flows;
+
+    @Nullable
+    @Schema(
+        title = "Whether the matching flows must be enabled or disabled.",
+        description = "Required unless `restoreFrom` is set."
+    )
+    private Property<Boolean> enabled;
+
+    @Nullable
+    @Schema(
+        title = "The URI of a `previousState` file of a previous run to restore.",
+        description = "Each flow of the file is set back to its recorded state, the filters and `enabled` are ignored."
+    )
+    private Property<String> restoreFrom;
+
+    @Schema(title = "The number of flows toggled by a single bulk request.")
+    @Builder.Default
+    private Property<Integer> batchSize = Property.ofValue(100);
+
+    @Schema(
+        title = "The maximum number of bulk requests running concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Nullable
+    @Schema(
+        title = "The maximum number of requests sent per second.",
+        description = "If null, the requests are only limited by the concurrency."
+    )
+    private Property<Double> maxRequestsPerSecond;
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Override
+    public Toggle.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        String rRestoreFrom = runContext.render(restoreFrom).as(String.class).orElse(null);
+        Boolean rEnabled = runContext.render(enabled).as(Boolean.class).orElse(null);
+        int rBatchSize = runContext.render(batchSize).as(Integer.class).orElse(100);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(4);
+        Double rMaxRequestsPerSecond = runContext.render(maxRequestsPerSecond).as(Double.class).orElse(null);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        if (rRestoreFrom == null && rEnabled == null) {
+            throw new IllegalArgumentException("One of `enabled` or `restoreFrom` must be set");
+        }
+
+        File stateFile = runContext.workingDir().createTempFile(".ion").toFile();
+        Context context = new Context(
+            kestraHttpClient(runContext),
+            new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries),
+            rMaxRequestsPerSecond == null ? null : new RateLimiter(rMaxRequestsPerSecond),
+            tId
+        );
+
+        try (
+            var stateOutput = new BufferedOutputStream(new FileOutputStream(stateFile), FileSerde.BUFFER_SIZE);
+            var reader = rRestoreFrom == null ? null : new BufferedReader(new InputStreamReader(runContext.storage().getFile(URI.create(rRestoreFrom))), FileSerde.BUFFER_SIZE)
+        ) {
+            context.stateOutput = stateOutput;
+
+            Flux<Change> changes = reader == null ?
+                Flux.fromIterable(matchingChanges(runContext, tId, !rEnabled, rBatchSize)) :
+                FileSerde.readAll(reader).map(Toggle::restoreChange);
+
+            changes
+                .filter(change -> {
+                    if (change.previousDisabled() != null && change.previousDisabled() == change.disable()) {
+                        context.unchanged.incrementAndGet();
+                        return false;
+                    }
+                    return true;
+                })
+                .buffer(rBatchSize)
+                .flatMap(
+                    batch -> Mono.fromRunnable(() -> applyBatch(context, batch))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                    rConcurrency
+                )
+                .blockLast();
+        }
+
+        runContext.metric(Counter.of("toggled", context.toggled.get()));
+        runContext.metric(Counter.of("unchanged", context.unchanged.get()));
+        runContext.metric(Counter.of("failed", context.failures.size()));
+        runContext.metric(Counter.of("throttled", context.limiter.throttled()));
+        runContext.logger().info("{} flows toggled, {} unchanged, {} failed", context.toggled.get(), context.unchanged.get(), context.failures.size());
+
+        Output.OutputBuilder output = Output.builder()
+            .toggled(context.toggled.get())
+            .unchanged(context.unchanged.get())
+            .failed((long) context.failures.size())
+            .previousState(runContext.storage().putFile(stateFile));
+
+        if (!context.failures.isEmpty()) {
+            runContext.logger().warn("Unable to toggle {} flows", context.failures.size());
+
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+                FileSerde.writeAll(fileOutput, Flux.fromIterable(context.failures)).block();
+            }
+            output.failures(runContext.storage().putFile(tempFile));
+        }
+
+        return output.build();
+    }
+
+    /**
+     * Lists the changes of the matching flows, their previous state being the one of this snapshot.
+     */
+    private List<Change> matchingChanges(RunContext runContext, String tId, boolean disable, int size) throws Exception {
+        String rNamespace = runContext.render(namespace).as(String.class).orElse(null);
+        List<String> rLabels = runContext.render(labels).asList(String.class);
+        Set<String> rFlows = runContext.render(flows).asList(IdWithNamespace.class).stream()
+            .map(flow -> FlowArchives.key(flow.getNamespace(), flow.getId()))
+            .collect(Collectors.toSet());
+
+        return FlowPages.searchAll(kestraClient(runContext), tId, null, rNamespace, rLabels, size)
+            .filter(flow -> rFlows.isEmpty() || rFlows.contains(FlowArchives.key(flow.getNamespace(), flow.getId())))
+            .map(flow -> new Change(
+                new IdWithNamespace().namespace(flow.getNamespace()).id(flow.getId()),
+                disable,
+                Boolean.TRUE.equals(flow.getDisabled())
+            ))
+            .collectList()
+            .block();
+    }
+
+    private static Change restoreChange(Object row) {
+        if (!(row instanceof Map<?, ?> flow) || !(flow.get("namespace") instanceof String ns) || !(flow.get("id") instanceof String id) || !(flow.get("disabled") instanceof Boolean disabled)) {
+            throw new IllegalArgumentException("Each row must be a map with a `namespace`, an `id` and a `disabled` flag, got: " + row);
+        }
+
+        // the current state is unknown, the recorded state is always applied
+        return new Change(new IdWithNamespace().namespace(ns).id(id), disabled, null);
+    }
+
+    private void applyBatch(Context context, List<Change> batch) {
+        Map<Boolean, List<Change>> groups = batch.stream().collect(Collectors.partitioningBy(Change::disable));
+
+        groups.forEach((disable, changes) -> {
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            try {
+                toggle(context, disable, changes);
+            } catch (Exception e) {
+                // retry one by one to report the flows that can't be toggled
+                changes.forEach(change -> {
+                    try {
+                        toggle(context, disable, List.of(change));
+                    } catch (Exception single) {
+                        context.failures.add(Map.of(
+                            "namespace", change.flow().getNamespace(),
+                            "id", change.flow().getId(),
+                            "error", Objects.toString(single.getMessage(), single.getClass().getName())
+                        ));
+                    }
+                });
+            }
+        });
+    }
+
+    private void toggle(Context context, boolean disable, List<Change> changes) throws Exception {
+        String path = "/api/v1/" + context.tenantId + "/flows/" + (disable ? "disable" : "enable") + "/by-ids";
+        List<IdWithNamespace> ids = changes.stream().map(Change::flow).toList();
+
+        context.limiter.call(() -> {
+            if (context.rateLimiter != null) {
+                context.rateLimiter.acquire();
+            }
+            context.httpClient.post(path, ids).close();
+            return null;
+        });
+        context.toggled.addAndGet(changes.size());
+
+        synchronized (context) {
+            for (Change change : changes) {
+                Map<String, Object> previous = new LinkedHashMap<>();
+                previous.put("namespace", change.flow().getNamespace());
+                previous.put("id", change.flow().getId());
+                // when restoring, the previous state is the opposite of the applied one
+                previous.put("disabled", change.previousDisabled() != null ? change.previousDisabled() : !disable);
+                FileSerde.write(context.stateOutput, previous);
+            }
+        }
+    }
+
+    private record Change(IdWithNamespace flow, boolean disable, @Nullable Boolean previousDisabled) {}
+
+    /**
+     * Spaces the requests evenly so no more than the given number of requests are sent per second.
+     */
+    private static class RateLimiter {
+        private final long intervalNanos;
+        private long next = System.nanoTime();
+
+        private RateLimiter(double permitsPerSecond) {
+            if (permitsPerSecond <= 0) {
+                throw new IllegalArgumentException("The maximum number of requests per second must be greater than 0, got " + permitsPerSecond);
+            }
+            this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        }
+
+        private void acquire() throws InterruptedException {
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                next = Math.max(next, now);
+                wait = next - now;
+                next += intervalNanos;
+            }
+
+            if (wait > 0) {
+                Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Context {
+        private final KestraHttpClient httpClient;
+        private final AdaptiveConcurrencyLimiter limiter;
+        @Nullable
+        private final RateLimiter rateLimiter;
+        private final String tenantId;
+
+        private OutputStream stateOutput;
+        private final AtomicLong toggled = new AtomicLong();
+        private final AtomicLong unchanged = new AtomicLong();
+        private final Queue<Map<String, String>> failures = new ConcurrentLinkedQueue<>();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "The number of enabled or disabled flows")
+        private Long toggled;
+
+        @Schema(title = "The number of flows that were already in the expected state")
+        private Long unchanged;
+
+        @Schema(title = "The number of flows that could not be toggled")
+        private Long failed;
+
+        @Schema(
+            title = "URI of an ION file with the previous state of the toggled flows",
+            description = "Each row contains the `namespace`, the `id` and the previous `disabled` flag. Give it to `restoreFrom` to revert the operation."
+        )
+        private URI previousState;
+
+        @Schema(
+            title = "URI of an ION file with the flows that could not be toggled",
+            description = "Each row contains the `namespace`, the `id` and the `error`. Only set when at least one flow failed."
+        )
+        private URI failures;
+    }
+}
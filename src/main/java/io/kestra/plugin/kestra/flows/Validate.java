@@ -0,0 +1,263 @@
+package io.kestra.plugin.kestra.flows;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Validate Kestra flows",
+    description = "Validates the flows of a ZIP archive, such as the ones produced by the `Export` and `ExportById` tasks, against the target server. " +
+        "The sources are streamed from the archive and sent to the validation endpoint in concurrent batches, " +
+        "and only the flows with errors or warnings are written to the report. " +
+        "An archive entry that is not a flow source, such as malformed YAML or a document without `id` or `namespace`, is reported as invalid without being sent."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Validate the flows exported from a development instance against the production instance before a deployment",
+            full = true,
+            code = """
+                id: validate_before_deploy
+                namespace: company.team
+
+                tasks:
+                  - id: export_flows
+                    type: io.kestra.plugin.kestra.flows.Export
+                    kestraUrl: https://dev.kestra.company.com
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company.data
+
+                  - id: validate_flows
+                    type: io.kestra.plugin.kestra.flows.Validate
+                    kestraUrl: https://prod.kestra.company.com
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    from: "{{ outputs.export_flows.flowsZip }}"
+
+                  - id: check
+                    type: io.kestra.plugin.core.execution.Fail
+                    runIf: "{{ outputs.validate_flows.invalid > 0 }}"
+                    errorMessage: "{{ outputs.validate_flows.invalid }} flows are invalid, see {{ outputs.validate_flows.uri }}"
+                """
+        )
+    }
+)
+public class Validate extends AbstractKestraTask implements RunnableTask<Validate.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final byte[] DOCUMENT_SEPARATOR = "\n---\n".getBytes(StandardCharsets.UTF_8);
+
+    @Schema(title = "The URI of a ZIP archive of flow sources from the internal storage.")
+    @NotNull
+    private Property<String> from;
+
+    @Schema(title = "The number of flows validated by a single request.")
+    @Builder.Default
+    private Property<Integer> batchSize = Property.ofValue(20);
+
+    @Schema(
+        title = "The maximum number of validation requests running concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Override
+    public Validate.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        URI rFrom = URI.create(runContext.render(from).as(String.class).orElseThrow());
+        int rBatchSize = runContext.render(batchSize).as(Integer.class).orElse(20);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(4);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        if (rBatchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be greater than 0, got " + rBatchSize);
+        }
+
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+        AtomicLong total = new AtomicLong();
+        AtomicLong invalid = new AtomicLong();
+        AtomicLong withWarnings = new AtomicLong();
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+            Flux<Map<String, Object>> report = FlowArchives.entries(() -> new BufferedInputStream(runContext.storage().getFile(rFrom), FileSerde.BUFFER_SIZE))
+                .buffer(rBatchSize)
+                .flatMapSequential(
+                    batch -> Mono.fromCallable(() -> validateBatch(httpClient, limiter, tId, batch))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                    rConcurrency
+                )
+                .flatMapIterable(results -> results)
+                .doOnNext(result -> {
+                    total.incrementAndGet();
+                    if (!((List<?>) result.get("errors")).isEmpty()) {
+                        invalid.incrementAndGet();
+                    }
+                    if (!((List<?>) result.get("warnings")).isEmpty()) {
+                        withWarnings.incrementAndGet();
+                    }
+                })
+                .filter(result -> !((List<?>) result.get("errors")).isEmpty() || !((List<?>) result.get("warnings")).isEmpty());
+
+            FileSerde.writeAll(fileOutput, report).block();
+        }
+
+        runContext.metric(Counter.of("validated", total.get()));
+        runContext.metric(Counter.of("invalid", invalid.get()));
+        runContext.metric(Counter.of("warnings", withWarnings.get()));
+        runContext.logger().info("Validated {} flows: {} invalid, {} with warnings", total.get(), invalid.get(), withWarnings.get());
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .validated(total.get())
+            .invalid(invalid.get())
+            .warnings(withWarnings.get())
+            .build();
+    }
+
+    /**
+     * Validates the batch with a single request, the sources are sent as one multi-document YAML and a result is returned per document.
+     * The entries that are not flow sources are reported as invalid without being sent.
+     */
+    private List<Map<String, Object>> validateBatch(
+        KestraHttpClient httpClient,
+        AdaptiveConcurrencyLimiter limiter,
+        String tId,
+        List<FlowArchives.Entry> batch
+    ) throws Exception {
+        List<Map<String, Object>> results = new ArrayList<>(batch.size());
+        List<Map<String, Object>> sent = new ArrayList<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (FlowArchives.Entry entry : batch) {
+            FlowArchives.FlowSource flow;
+            try {
+                flow = FlowArchives.FlowSource.of(entry.name(), entry.content());
+            } catch (Exception e) {
+                results.add(result(null, null, entry.name(), List.of(Objects.toString(e.getMessage(), e.getClass().getName()))));
+                continue;
+            }
+
+            if (!sent.isEmpty()) {
+                body.write(DOCUMENT_SEPARATOR);
+            }
+            body.write(flow.source());
+
+            Map<String, Object> result = result(flow.namespace(), flow.id(), entry.name(), List.of());
+            results.add(result);
+            sent.add(result);
+        }
+
+        if (sent.isEmpty()) {
+            return results;
+        }
+
+        List<Map<String, Object>> violations = limiter.call(() -> {
+            try (InputStream inputStream = httpClient.send("POST", "/api/v1/" + tId + "/flows/validate", "application/x-yaml", body.toByteArray())) {
+                return MAPPER.readValue(inputStream, new TypeReference<List<Map<String, Object>>>() {});
+            }
+        });
+
+        if (violations.size() != sent.size()) {
+            throw new IllegalStateException("The server returned " + violations.size() + " validation results for " + sent.size() + " flows");
+        }
+
+        for (int i = 0; i < violations.size(); i++) {
+            Map<String, Object> violation = violations.get(i);
+            int index = violation.get("index") instanceof Number number ? number.intValue() : i;
+            if (index < 0 || index >= sent.size()) {
+                throw new IllegalStateException("The server returned a validation result for the unknown document " + index);
+            }
+
+            Map<String, Object> result = sent.get(index);
+            result.put("errors", violation.get("constraints") == null ? List.of() : List.of(Objects.toString(violation.get("constraints"))));
+            result.put("warnings", messages(violation.get("warnings")));
+            result.put("deprecationPaths", messages(violation.get("deprecationPaths")));
+        }
+
+        return results;
+    }
+
+    private static Map<String, Object> result(String namespace, String id, String entryName, List<String> errors) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("namespace", namespace);
+        result.put("id", id);
+        result.put("entryName", entryName);
+        result.put("errors", errors);
+        result.put("warnings", List.of());
+        result.put("deprecationPaths", List.of());
+        return result;
+    }
+
+    private static List<String> messages(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+
+        return list.stream().map(Objects::toString).toList();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of an ION file with the validation report",
+            description = "One row per flow with errors or warnings, with its `namespace`, `id`, archive `entryName`, `errors`, `warnings` and `deprecationPaths`. " +
+                "The `namespace` and `id` are null for an entry that is not a flow source."
+        )
+        private URI uri;
+
+        @Schema(title = "The number of validated flows")
+        private Long validated;
+
+        @Schema(title = "The number of flows with errors")
+        private Long invalid;
+
+        @Schema(title = "The number of flows with warnings")
+        private Long warnings;
+    }
+}
@@ -0,0 +1,243 @@
+package io.kestra.plugin.kestra.namespaces;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Download Kestra namespace files to the internal storage",
+    description = "Downloads the namespace files matching glob patterns concurrently, the contents are streamed to the internal storage. " +
+        "Each run outputs a manifest with the size, modification time and SHA-256 checksum of every file. " +
+        "Given the manifest of a previous run, a file whose size and modification time did not change is not downloaded again, its previous URI is reused."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Download the SQL files of a namespace, reusing the files downloaded by the previous execution",
+            full = true,
+            code = """
+                id: download_namespace_files
+                namespace: company.team
+
+                tasks:
+                  - id: previous
+                    type: io.kestra.plugin.core.kv.Get
+                    key: namespace_files_manifest
+
+                  - id: download
+                    type: io.kestra.plugin.kestra.namespaces.DownloadFiles
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespace: company.data
+                    files:
+                      - "/sql/**.sql"
+                    previousManifest: "{{ outputs.previous.value }}"
+
+                  - id: save_manifest
+                    type: io.kestra.plugin.core.kv.Set
+                    key: namespace_files_manifest
+                    value: "{{ outputs.download.manifest }}"
+                """
+        )
+    }
+)
+public class DownloadFiles extends AbstractKestraTask implements RunnableTask<DownloadFiles.Output> {
+    @Schema(title = "The namespace to download the files from.")
+    @NotNull
+    private Property<String> namespace;
+
+    @Schema(
+        title = "Glob patterns of the namespace file paths to download",
+        description = "The patterns are matched against the absolute path of the files, such as `/scripts/**.py`. If empty, every file is downloaded."
+    )
+    private Property<List<String>> files;
+
+    @Nullable
+    @Schema(
+        title = "The URI of the `manifest` of a previous run",
+        description = "The files whose size and modification time match the manifest are not downloaded, their previous URI is output instead."
+    )
+    private Property<String> previousManifest;
+
+    @Schema(
+        title = "The maximum number of files transferred concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(8);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public DownloadFiles.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        String rNamespace = runContext.render(namespace).as(String.class).orElseThrow();
+        List<String> rFiles = runContext.render(files).asList(String.class);
+        String rPreviousManifest = runContext.render(previousManifest).as(String.class).orElse(null);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(8);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+
+        List<PathMatcher> matchers = rFiles.stream()
+            .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + NamespaceFiles.normalize(pattern)))
+            .toList();
+
+        Map<String, Map<String, Object>> previous = new HashMap<>();
+        if (rPreviousManifest != null) {
+            try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(URI.create(rPreviousManifest))), FileSerde.BUFFER_SIZE)) {
+                FileSerde.readAll(reader)
+                    .map(row -> (Map<String, Object>) row)
+                    .doOnNext(row -> previous.put((String) row.get("path"), row))
+                    .blockLast();
+            }
+        }
+
+        AtomicLong downloaded = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+
+        List<Map<String, Object>> manifest = NamespaceFiles.walk(httpClient, limiter, tId, rNamespace)
+            .filter(entry -> matchers.isEmpty() || matchers.stream().anyMatch(matcher -> matcher.matches(Path.of(entry.path()))))
+            .flatMap(
+                entry -> Mono.fromCallable(() -> {
+                        Map<String, Object> last = previous.get(entry.path());
+                        if (isUnchanged(runContext, entry, last)) {
+                            skipped.incrementAndGet();
+                            return last;
+                        }
+
+                        File tempFile = runContext.workingDir().createTempFile().toFile();
+                        try {
+                            NamespaceFiles.Digest digest = NamespaceFiles.download(httpClient, limiter, tId, rNamespace, entry.path(), tempFile);
+                            URI uri = runContext.storage().putFile(tempFile, entry.path().substring(1));
+
+                            downloaded.incrementAndGet();
+                            bytes.addAndGet(digest.size());
+
+                            Map<String, Object> row = new LinkedHashMap<>();
+                            row.put("path", entry.path());
+                            row.put("size", digest.size());
+                            row.put("lastModifiedTime", entry.lastModifiedTime());
+                            row.put("sha256", digest.sha256());
+                            row.put("uri", uri.toString());
+                            return row;
+                        } finally {
+                            Files.deleteIfExists(tempFile.toPath());
+                        }
+                    })
+                    .subscribeOn(Schedulers.boundedElastic()),
+                rConcurrency
+            )
+            .collectList()
+            .block();
+
+        // sorted by path so that two manifests of the same files are identical
+        manifest.sort(Comparator.comparing(row -> (String) row.get("path")));
+
+        Map<String, URI> downloadedFiles = new LinkedHashMap<>();
+        File manifestFile = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var output = new BufferedOutputStream(new FileOutputStream(manifestFile), FileSerde.BUFFER_SIZE)) {
+            for (Map<String, Object> row : manifest) {
+                downloadedFiles.put((String) row.get("path"), URI.create((String) row.get("uri")));
+                FileSerde.write(output, row);
+            }
+        }
+
+        runContext.metric(Counter.of("downloaded", downloaded.get()));
+        runContext.metric(Counter.of("skipped", skipped.get()));
+        runContext.metric(Counter.of("bytes", bytes.get()));
+        runContext.logger().info(
+            "Downloaded {} files ({} bytes) from namespace {}, {} unchanged files skipped",
+            downloaded.get(), bytes.get(), rNamespace, skipped.get()
+        );
+
+        return Output.builder()
+            .files(downloadedFiles)
+            .manifest(runContext.storage().putFile(manifestFile))
+            .downloaded(downloaded.get())
+            .skipped(skipped.get())
+            .bytes(bytes.get())
+            .build();
+    }
+
+    /**
+     * A file is unchanged when its size and modification time match the previous manifest, and the previous content is still stored.
+     */
+    private static boolean isUnchanged(RunContext runContext, NamespaceFiles.Entry entry, @Nullable Map<String, Object> last) throws Exception {
+        if (last == null || !(last.get("uri") instanceof String uri)) {
+            return false;
+        }
+
+        return last.get("size") instanceof Number size && size.longValue() == entry.size() &&
+            last.get("lastModifiedTime") instanceof Number lastModified && lastModified.longValue() == entry.lastModifiedTime() &&
+            runContext.storage().isFileExist(URI.create(uri));
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The downloaded files",
+            description = "A map of the namespace file path to the URI of its content in the internal storage, including the skipped files."
+        )
+        private Map<String, URI> files;
+
+        @Schema(
+            title = "URI of an ION file with the manifest of the downloaded files",
+            description = "One row per file with its `path`, `size`, `lastModifiedTime`, `sha256` and `uri`, to be passed as `previousManifest` of a next run."
+        )
+        private URI manifest;
+
+        @Schema(title = "The number of downloaded files")
+        private Long downloaded;
+
+        @Schema(title = "The number of files skipped as they were unchanged")
+        private Long skipped;
+
+        @Schema(title = "The number of downloaded bytes")
+        private Long bytes;
+    }
+}
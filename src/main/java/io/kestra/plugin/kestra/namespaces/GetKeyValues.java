@@ -0,0 +1,253 @@
+package io.kestra.plugin.kestra.namespaces;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.kestra.sdk.internal.ApiException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Get many Kestra KV pairs at once",
+    description = "Reads the values of many keys, from one or several namespaces, concurrently. " +
+        "The values are output as a map by namespace and key, or streamed to an ION file with `fetchType: STORE`. " +
+        "With `cacheTtl`, the values are also cached on the worker, so that hot configuration keys read by many executions are only fetched once per TTL."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Read the configuration keys of two namespaces, caching them on the worker for one minute",
+            full = true,
+            code = """
+                id: read_configuration
+                namespace: company.team
+
+                tasks:
+                  - id: get
+                    type: io.kestra.plugin.kestra.namespaces.GetKeyValues
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    keys:
+                      company.team:
+                        - database_host
+                        - database_port
+                      company.shared:
+                        - feature_flags
+                    cacheTtl: PT1M
+
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ outputs.get.values['company.team'].database_host }}"
+                """
+        )
+    }
+)
+public class GetKeyValues extends AbstractKestraTask implements RunnableTask<GetKeyValues.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Schema(
+        title = "The keys to read",
+        description = "A map of the namespace to the list of its keys."
+    )
+    @NotNull
+    private Property<Map<String, List<String>>> keys;
+
+    @Schema(
+        title = "Fail the task if a key is missing.",
+        description = "If false, the missing keys are left out of the output."
+    )
+    @Builder.Default
+    private Property<Boolean> errorOnMissing = Property.ofValue(false);
+
+    @Nullable
+    @Schema(
+        title = "How long the values are cached on the worker",
+        description = "If set, the values are cached on the worker by Kestra URL, tenant, credentials, namespace and key, and shared with the other tasks running on it. " +
+            "If null, the server is always called."
+    )
+    private Property<Duration> cacheTtl;
+
+    @Schema(
+        title = "The way the values will be output.",
+        description = "`FETCH` outputs them in `values`, `STORE` streams them to an ION file with one row per key. `FETCH_ONE` is not supported."
+    )
+    @Builder.Default
+    private Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
+
+    @Schema(
+        title = "The maximum number of keys read concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(8);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public GetKeyValues.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        Map<String, List<String>> rKeys = (Map<String, List<String>>) (Map<String, ?>) runContext.render(keys).asMap(String.class, List.class);
+        boolean rErrorOnMissing = runContext.render(errorOnMissing).as(Boolean.class).orElse(false);
+        Duration rCacheTtl = runContext.render(cacheTtl).as(Duration.class).orElse(null);
+        FetchType rFetchType = runContext.render(fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(8);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        if (rFetchType == FetchType.FETCH_ONE) {
+            throw new IllegalArgumentException("`fetchType: FETCH_ONE` is not supported, use `FETCH` or `STORE`");
+        }
+
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+        String url = renderKestraUrl(runContext);
+        String identity = renderAuthIdentity(runContext);
+
+        List<KeyValueCache.Key> requested = new ArrayList<>();
+        rKeys.forEach((namespace, namespaceKeys) -> namespaceKeys.forEach(key -> requested.add(new KeyValueCache.Key(url, tId, identity, namespace, String.valueOf(key)))));
+
+        AtomicLong cached = new AtomicLong();
+        AtomicLong missing = new AtomicLong();
+
+        // the rows are kept in the requested order
+        Flux<Map<String, Object>> rows = Flux.fromIterable(requested)
+            .flatMapSequential(
+                key -> Mono.fromCallable(() -> {
+                        Object value = rCacheTtl == null ? null : KeyValueCache.get(key, rCacheTtl);
+                        if (value != null) {
+                            cached.incrementAndGet();
+                        } else {
+                            value = fetch(httpClient, limiter, key);
+                            if (value == null) {
+                                missing.incrementAndGet();
+                                if (rErrorOnMissing) {
+                                    throw new IllegalArgumentException("The key '" + key.key() + "' does not exist in the namespace '" + key.namespace() + "'");
+                                }
+                            } else if (rCacheTtl != null) {
+                                KeyValueCache.put(key, value, rCacheTtl);
+                            }
+                        }
+
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        row.put("namespace", key.namespace());
+                        row.put("key", key.key());
+                        row.put("value", value);
+                        return row;
+                    })
+                    .subscribeOn(Schedulers.boundedElastic()),
+                rConcurrency
+            )
+            .filter(row -> row.get("value") != null);
+
+        Output.OutputBuilder output = Output.builder();
+        if (rFetchType == FetchType.STORE) {
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+                FileSerde.writeAll(fileOutput, rows).block();
+            }
+            output.uri(runContext.storage().putFile(tempFile));
+        } else if (rFetchType == FetchType.FETCH) {
+            Map<String, Map<String, Object>> values = new TreeMap<>();
+            rows.doOnNext(row -> values.computeIfAbsent((String) row.get("namespace"), namespace -> new LinkedHashMap<>()).put((String) row.get("key"), row.get("value")))
+                .blockLast();
+            output.values(values);
+        } else {
+            rows.blockLast();
+        }
+
+        runContext.metric(Counter.of("keys", requested.size()));
+        runContext.metric(Counter.of("cached", cached.get()));
+        runContext.metric(Counter.of("missing", missing.get()));
+        runContext.logger().info("Read {} keys, {} from the cache, {} missing", requested.size(), cached.get(), missing.get());
+
+        return output
+            .found((long) requested.size() - missing.get())
+            .missing(missing.get())
+            .build();
+    }
+
+    @Nullable
+    private static Object fetch(KestraHttpClient httpClient, AdaptiveConcurrencyLimiter limiter, KeyValueCache.Key key) throws Exception {
+        String path = "/api/v1/" + key.tenantId() + "/namespaces/" + encode(key.namespace()) + "/kv/" + encode(key.key());
+
+        try {
+            Map<String, Object> typedValue = limiter.call(() -> {
+                try (InputStream inputStream = httpClient.get(path, Map.of())) {
+                    return MAPPER.readValue(inputStream, JacksonMapper.MAP_TYPE_REFERENCE);
+                }
+            });
+            return typedValue.get("value");
+        } catch (ApiException e) {
+            if (e.getCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The values by namespace and key",
+            description = "Only populated if using `fetchType=FETCH`."
+        )
+        private Map<String, Map<String, Object>> values;
+
+        @Schema(
+            title = "URI of an ION file with the values",
+            description = "One row per found key with its `namespace`, `key` and `value`. Only populated if using `fetchType=STORE`."
+        )
+        private URI uri;
+
+        @Schema(title = "The number of found keys")
+        private Long found;
+
+        @Schema(title = "The number of missing keys")
+        private Long missing;
+    }
+}
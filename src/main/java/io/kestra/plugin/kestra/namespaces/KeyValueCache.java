@@ -0,0 +1,64 @@
+package io.kestra.plugin.kestra.namespaces;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Worker-local read-through cache of KV values, shared by the tasks running on the same worker.
+ * <p>
+ * Values are keyed by the identity of the caller, as two credentials may not see the same keys. They are only reused
+ * while younger than the TTL of the reading task, missing keys are not cached, and a value set through
+ * {@link SetKeyValues} replaces the one cached for the same credentials. The expired values are evicted at most once
+ * per minute, by the first load after that delay.
+ */
+final class KeyValueCache {
+    private static final long EVICTION_INTERVAL = Duration.ofMinutes(1).toNanos();
+
+    private static final ConcurrentMap<Key, Value> VALUES = new ConcurrentHashMap<>();
+    private static final AtomicLong LAST_EVICTION = new AtomicLong(System.nanoTime());
+
+    private KeyValueCache() {
+        // utility class
+    }
+
+    /**
+     * The identity is a hash of the credentials of the caller.
+     */
+    record Key(String url, String tenantId, String identity, String namespace, String key) {}
+
+    /**
+     * Returns the cached value if younger than the TTL, or else null.
+     */
+    static Object get(Key key, Duration ttl) {
+        Value value = VALUES.get(key);
+        if (value == null || !value.isFresh(System.nanoTime(), ttl)) {
+            return null;
+        }
+
+        return value.value();
+    }
+
+    static void put(Key key, Object value, Duration ttl) {
+        long now = System.nanoTime();
+        long lastEviction = LAST_EVICTION.get();
+        if (now - lastEviction >= EVICTION_INTERVAL && LAST_EVICTION.compareAndSet(lastEviction, now)) {
+            VALUES.values().removeIf(cached -> !cached.isFresh(now, cached.ttl()));
+        }
+        VALUES.put(key, new Value(value, now, ttl));
+    }
+
+    /**
+     * Replaces a cached value after a write, a value that was never cached is left uncached.
+     */
+    static void update(Key key, Object value) {
+        VALUES.computeIfPresent(key, (cacheKey, cached) -> new Value(value, System.nanoTime(), cached.ttl()));
+    }
+
+    private record Value(Object value, long loadedAt, Duration ttl) {
+        boolean isFresh(long now, Duration maxAge) {
+            return now - loadedAt < Math.min(ttl.toNanos(), maxAge.toNanos());
+        }
+    }
+}
@@ -4,16 +4,29 @@ import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.Paginator;
 import io.kestra.sdk.KestraClient;
+import io.kestra.sdk.model.Namespace;
 import io.kestra.sdk.model.PagedResultsNamespace;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.annotation.Nullable;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @SuperBuilder(toBuilder = true)
 @ToString
@@ -79,16 +92,41 @@ import java.util.ArrayList;
                       password: Admin1234 # pass your Kestra password as secret or KV pair
                     # No 'page' or 'size' properties to fetch all
                 """
+        ),
+        @Example(
+            title = "Store every namespace with its description and variables to an ION file",
+            full = true,
+            code = """
+                id: store_all_namespaces
+                namespace: company.team
+
+                tasks:
+                  - id: store_namespaces
+                    type: io.kestra.plugin.kestra.namespaces.List
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    size: 100
+                    existingOnly: true
+                    fields:
+                      - description
+                      - variables
+                    fetchType: STORE
+                """
         )
     }
 )
 public class List extends AbstractKestraTask implements RunnableTask<List.Output> {
-    @Schema(title = "The namespace prefix, if null, all namespaces will be listed.")
+    @Schema(
+        title = "The namespace prefix, if null, all namespaces will be listed.",
+        description = "The prefix matches the namespace itself and its child namespaces: `company` matches `company` and `company.team`, but not `company2`."
+    )
     private Property<String> prefix;
 
     @Nullable
     @Schema(title = "If not provided, every pages are fetched",
-        description = "For example, set to 1, it can be used to only fetch the first 10 results used with `size`.")
+        description = "For example, set to 1, it can be used to only fetch the first 10 results used with `size`. It starts at 1.")
     private Property<Integer> page;
 
     @Nullable
@@ -101,6 +139,31 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
         description = "Set to true, namespaces that exists only because a flow is using it will not be returned.")
     private Property<Boolean> existingOnly = Property.ofValue(false);
 
+    @Nullable
+    @Schema(
+        title = "How long the listing is cached on the worker",
+        description = "If set, every namespace matching the prefix is cached on the worker by Kestra URL, tenant, credentials, prefix and `existingOnly`, " +
+            "and shared with the other tasks running on it. A cached listing also answers its child namespaces, and the `page` is then taken from the cached listing. " +
+            "If null, the server is always called."
+    )
+    private Property<Duration> cacheTtl;
+
+    @Nullable
+    @Schema(
+        title = "The namespace fields to output in addition to the id",
+        description = "For example `description`, `variables`, `pluginDefaults` or `allowedNamespaces`. If empty, only the namespace ids are output. " +
+            "The worker cache is not used when fields are requested."
+    )
+    private Property<java.util.List<String>> fields;
+
+    @Builder.Default
+    @Schema(
+        title = "The way the listed namespaces will be stored.",
+        description = "`FETCH` outputs them in `namespaces` (and `rows` with `fields`), `FETCH_ONE` outputs the first one in `namespace` (and `row`), " +
+            "and `STORE` streams them to an ION file page by page, so the memory used does not grow with the number of namespaces."
+    )
+    private Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
+
     @Override
     public List.Output run(RunContext runContext) throws Exception {
         Integer rPage = runContext.render(this.page).as(Integer.class).orElse(null);
@@ -108,52 +171,138 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
         String ns = runContext.render(prefix).as(String.class).orElse("");
         String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
         Boolean rExistingOnly = runContext.render(existingOnly).as(Boolean.class).orElse(false);
+        Duration rCacheTtl = runContext.render(cacheTtl).as(Duration.class).orElse(null);
+        java.util.List<String> rFields = runContext.render(fields).asList(String.class);
+
+        if (rPage != null && rPage < 1) {
+            throw new IllegalArgumentException("The page must be greater than 0, got " + rPage);
+        }
 
         KestraClient kestraClient = kestraClient(runContext);
-        java.util.List<String> allNamespaces = new ArrayList<String>();
-
-        // If page is provided, fetch only that specific page
-        if (rPage != null) {
-            PagedResultsNamespace results = kestraClient.namespaces()
-                .searchNamespaces(
-                    rPage,
-                    rSize,
-                    rExistingOnly,
-                    tId,
-                    ns,
-                    null
-                );
-            results.getResults().forEach(namespace -> allNamespaces.add(namespace.getId()));
+        Paginator.PageFetcher<PagedResultsNamespace> search = (currentPage, pageSize) -> kestraClient.namespaces()
+            .searchNamespaces(
+                currentPage,
+                pageSize,
+                rExistingOnly,
+                tId,
+                ns,
+                null
+            );
+
+        Flux<Map<String, Object>> rows;
+        if (rCacheTtl != null && rFields.isEmpty()) {
+            java.util.List<String> cached = NamespaceListingCache.get(
+                new NamespaceListingCache.Source(renderKestraUrl(runContext), tId, renderAuthIdentity(runContext), "namespaces", rExistingOnly),
+                ns,
+                rCacheTtl,
+                // the whole listing is loaded, with larger pages as they are not returned as-is
+                () -> Paginator.items(search, PagedResultsNamespace::getResults, PagedResultsNamespace::getTotal, Math.max(rSize, 100))
+                    .map(Namespace::getId)
+                    .collectList()
+                    .block()
+            );
+
+            if (rPage != null) {
+                int from = (int) Math.min(cached.size(), (long) (rPage - 1) * rSize);
+                cached = cached.subList(from, Math.min(cached.size(), from + rSize));
+            }
+
+            rows = Flux.fromIterable(cached).map(id -> Map.<String, Object>of("id", id));
         } else {
-            int currentPage = 1;
-            long total;
-            do {
-                PagedResultsNamespace results = kestraClient.namespaces()
-                    .searchNamespaces(
-                        currentPage,
-                        rSize,
-                        rExistingOnly,
-                        tId,
-                        ns,
-                        null
-                    );
-                results.getResults().forEach(namespace -> allNamespaces.add(namespace.getId()));
-                total = results.getTotal();
-                currentPage++;
-            } while ((long) currentPage * rSize < total);
+            if (rCacheTtl != null) {
+                runContext.logger().debug("The cache is not used as `fields` is set, only the namespace ids are cached");
+            }
+
+            // If page is provided without prefix, fetch only that specific page, else the pages are fetched lazily as the namespaces are consumed
+            Flux<Namespace> namespaces;
+            if (rPage != null && ns.isEmpty()) {
+                namespaces = Mono.fromCallable(() -> search.fetch(rPage, rSize)).flatMapIterable(PagedResultsNamespace::getResults);
+            } else {
+                // the server also matches the namespaces that only start with the prefix, so the page is taken once they are filtered out
+                namespaces = Paginator.items(search, PagedResultsNamespace::getResults, PagedResultsNamespace::getTotal, rSize)
+                    .filter(namespace -> NamespaceListingCache.matches(namespace.getId(), ns));
+                if (rPage != null) {
+                    namespaces = namespaces.skip((long) (rPage - 1) * rSize).take(rSize);
+                }
+            }
+
+            rows = namespaces.map(namespace -> project(namespace, rFields));
+        }
+
+        List.Output.OutputBuilder output = List.Output.builder();
+        switch (runContext.render(fetchType).as(FetchType.class).orElse(FetchType.FETCH)) {
+            case STORE -> {
+                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+                Long count;
+                try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
+                    count = FileSerde.writeAll(fileOutput, rows).block();
+                }
+                output.uri(runContext.storage().putFile(tempFile)).size(count);
+            }
+            case FETCH -> {
+                java.util.List<Map<String, Object>> fetched = rows.collectList().block();
+                output.namespaces(fetched.stream().map(row -> (String) row.get("id")).toList())
+                    .rows(rFields.isEmpty() ? null : fetched)
+                    .size((long) fetched.size());
+            }
+            case FETCH_ONE -> {
+                Map<String, Object> first = rows.next().block();
+                output.namespace(first == null ? null : (String) first.get("id"))
+                    .row(rFields.isEmpty() ? null : first)
+                    .size(first == null ? 0L : 1L);
+            }
+            default -> output.size(rows.count().block());
         }
 
-        return List.Output.builder()
-            .namespaces(allNamespaces)
-            .build();
+        return output.build();
+    }
+
+    private static Map<String, Object> project(Namespace namespace, java.util.List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", namespace.getId());
+        if (fields.isEmpty()) {
+            return row;
+        }
+
+        Map<String, Object> model = JacksonMapper.toMap(namespace);
+        fields.forEach(field -> row.put(field, model.get(field)));
+        return row;
     }
 
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(
-            title = "A list of Kestra namespaces."
+            title = "A list of Kestra namespaces.",
+            description = "Only populated if using `fetchType=FETCH`."
         )
         private java.util.List<String> namespaces;
+
+        @Schema(
+            title = "The listed namespaces with the requested fields",
+            description = "Only populated if using `fetchType=FETCH` and `fields`."
+        )
+        private java.util.List<Map<String, Object>> rows;
+
+        @Schema(
+            title = "The first listed namespace",
+            description = "Only populated if using `fetchType=FETCH_ONE`."
+        )
+        private String namespace;
+
+        @Schema(
+            title = "The first listed namespace with the requested fields",
+            description = "Only populated if using `fetchType=FETCH_ONE` and `fields`."
+        )
+        private Map<String, Object> row;
+
+        @Schema(
+            title = "The URI of the stored namespaces",
+            description = "Only populated if using `fetchType=STORE`. Each row contains the `id` of a namespace and the requested `fields`."
+        )
+        private URI uri;
+
+        @Schema(title = "The number of listed namespaces")
+        private Long size;
     }
 }
@@ -0,0 +1,222 @@
+package io.kestra.plugin.kestra.namespaces;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.kestra.sdk.internal.ApiException;
+import jakarta.annotation.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Namespace file operations on the raw API, the file contents are streamed and never buffered in memory.
+ */
+final class NamespaceFiles {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private NamespaceFiles() {
+        // utility class
+    }
+
+    /**
+     * A namespace file or directory, with its absolute path in the namespace.
+     */
+    record Entry(String path, boolean directory, long size, long lastModifiedTime) {}
+
+    /**
+     * The size and SHA-256 checksum of a content.
+     */
+    record Digest(long size, String sha256) {}
+
+    /**
+     * Lists the direct entries of a directory, a missing directory has no entries.
+     */
+    static List<Entry> list(KestraHttpClient httpClient, AdaptiveConcurrencyLimiter limiter, String tenantId, String namespace, String directory) throws Exception {
+        List<Map<String, Object>> attributes;
+        try {
+            attributes = limiter.call(() -> {
+                try (InputStream inputStream = httpClient.get(filesPath(tenantId, namespace) + "/directory", Map.of("path", List.of(directory)))) {
+                    return MAPPER.readValue(inputStream, new TypeReference<List<Map<String, Object>>>() {});
+                }
+            });
+        } catch (ApiException e) {
+            if (e.getCode() == 404) {
+                return List.of();
+            }
+            throw e;
+        }
+
+        String parent = directory.endsWith("/") ? directory : directory + "/";
+        return attributes.stream()
+            .map(attribute -> new Entry(
+                parent + attribute.get("fileName"),
+                "directory".equalsIgnoreCase(String.valueOf(attribute.get("type"))),
+                attribute.get("size") instanceof Number size ? size.longValue() : 0L,
+                attribute.get("lastModifiedTime") instanceof Number lastModified ? lastModified.longValue() : 0L
+            ))
+            .toList();
+    }
+
+    /**
+     * Lazily walks the files of a namespace breadth-first, the directories of a level being listed concurrently.
+     */
+    static Flux<Entry> walk(KestraHttpClient httpClient, AdaptiveConcurrencyLimiter limiter, String tenantId, String namespace) {
+        return Flux.just(new Entry("/", true, 0, 0))
+            .expand(entry -> !entry.directory() ? Flux.empty() :
+                Mono.fromCallable(() -> list(httpClient, limiter, tenantId, namespace, entry.path()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapIterable(entries -> entries)
+            )
+            .filter(entry -> !entry.directory());
+    }
+
+    /**
+     * Streams the content of a file to the target file and returns its digest, a retried download overwrites the target.
+     */
+    static Digest download(
+        KestraHttpClient httpClient,
+        AdaptiveConcurrencyLimiter limiter,
+        String tenantId,
+        String namespace,
+        String path,
+        File target
+    ) throws Exception {
+        return limiter.call(() -> {
+            try (
+                InputStream inputStream = httpClient.get(filesPath(tenantId, namespace), Map.of("path", List.of(path)));
+                OutputStream output = new BufferedOutputStream(new FileOutputStream(target), FileSerde.BUFFER_SIZE)
+            ) {
+                return digest(inputStream, output);
+            }
+        });
+    }
+
+    /**
+     * Reads the content of a file only to compute its digest.
+     */
+    static Digest remoteDigest(KestraHttpClient httpClient, String tenantId, String namespace, String path) throws Exception {
+        try (InputStream inputStream = httpClient.get(filesPath(tenantId, namespace), Map.of("path", List.of(path)))) {
+            return digest(inputStream, null);
+        }
+    }
+
+    /**
+     * Uploads a file, streaming its content from the opened stream, and returns the number of uploaded bytes.
+     * The content is opened again if the upload is retried.
+     */
+    static long upload(
+        KestraHttpClient httpClient,
+        AdaptiveConcurrencyLimiter limiter,
+        String tenantId,
+        String namespace,
+        String path,
+        ContentOpener content
+    ) throws Exception {
+        AtomicLong size = new AtomicLong();
+
+        limiter.call(() -> {
+            size.set(0);
+            httpClient.postFile(
+                filesPath(tenantId, namespace),
+                Map.of("path", List.of(path)),
+                "fileContent",
+                path.substring(path.lastIndexOf('/') + 1),
+                () -> {
+                    try {
+                        return new FilterInputStream(content.open()) {
+                            @Override
+                            public int read() throws IOException {
+                                int read = super.read();
+                                if (read != -1) {
+                                    size.incrementAndGet();
+                                }
+                                return read;
+                            }
+
+                            @Override
+                            public int read(byte[] buffer, int offset, int length) throws IOException {
+                                int read = super.read(buffer, offset, length);
+                                if (read > 0) {
+                                    size.addAndGet(read);
+                                }
+                                return read;
+                            }
+                        };
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            ).close();
+            return null;
+        });
+
+        return size.get();
+    }
+
+    /**
+     * Reads the whole stream, copying it to the output if not null, and returns its digest.
+     */
+    static Digest digest(InputStream inputStream, @Nullable OutputStream output) throws IOException {
+        MessageDigest messageDigest = sha256();
+        long size = 0;
+
+        try (DigestInputStream digestInputStream = new DigestInputStream(inputStream, messageDigest)) {
+            byte[] buffer = new byte[FileSerde.BUFFER_SIZE];
+            int read;
+            while ((read = digestInputStream.read(buffer)) != -1) {
+                if (output != null) {
+                    output.write(buffer, 0, read);
+                }
+                size += read;
+            }
+        }
+
+        return new Digest(size, HexFormat.of().formatHex(messageDigest.digest()));
+    }
+
+    /**
+     * Normalizes a namespace file path to an absolute one.
+     */
+    static String normalize(String path) {
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static String filesPath(String tenantId, String namespace) {
+        return "/api/v1/" + tenantId + "/namespaces/" + URLEncoder.encode(namespace, StandardCharsets.UTF_8) + "/files";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @FunctionalInterface
+    interface ContentOpener {
+        InputStream open() throws IOException;
+    }
+}
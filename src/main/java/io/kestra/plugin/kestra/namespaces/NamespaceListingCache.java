@@ -0,0 +1,107 @@
+package io.kestra.plugin.kestra.namespaces;
+
+import io.kestra.core.utils.Rethrow;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Worker-local cache of namespace listings, shared by the tasks running on the same worker.
+ * <p>
+ * A listing is cached for the prefix it was loaded with, as a sorted set of namespaces. A prefix matches the namespace
+ * itself and its child namespaces, which are a contiguous range of that set, so a listing loaded for {@code company}
+ * (or for all namespaces) also answers {@code company.team} without another call. Listings are keyed by the identity of
+ * the caller, as two credentials may not see the same namespaces. They are only reused while younger than the TTL of the
+ * reading task, and the expired ones are evicted on each load.
+ * <p>
+ * The uncached listings are filtered with {@link #matches(String, String)}, so enabling the cache never changes the result.
+ */
+final class NamespaceListingCache {
+    private static final ConcurrentMap<Key, Listing> LISTINGS = new ConcurrentHashMap<>();
+
+    private NamespaceListingCache() {
+        // utility class
+    }
+
+    /**
+     * The source of a listing, the namespaces of the same source are comparable whatever the prefix.
+     * The identity is a hash of the credentials of the caller.
+     */
+    record Source(String url, String tenantId, String identity, String endpoint, boolean existingOnly) {}
+
+    /**
+     * Returns the sorted namespaces matching the prefix, from the cache if a fresh listing covers it, or else from
+     * the loader whose result is then cached.
+     */
+    static List<String> get(Source source, String prefix, Duration ttl, Rethrow.CallableChecked<Collection<String>, Exception> loader) throws Exception {
+        long now = System.nanoTime();
+
+        // the longest cached parent namespace gives the smallest listing to read from
+        for (String parent = prefix; parent != null; parent = parent(parent)) {
+            Listing listing = LISTINGS.get(new Key(source, parent));
+            if (listing != null && listing.isFresh(now, ttl)) {
+                return matching(listing.namespaces(), prefix);
+            }
+        }
+
+        NavigableSet<String> namespaces = new TreeSet<>(loader.call());
+        LISTINGS.values().removeIf(listing -> !listing.isFresh(now, listing.ttl()));
+        LISTINGS.put(new Key(source, prefix), new Listing(namespaces, now, ttl));
+
+        return matching(namespaces, prefix);
+    }
+
+    /**
+     * The parent namespace, the empty prefix being the parent of the root namespaces, or null for the empty prefix.
+     */
+    private static String parent(String namespace) {
+        if (namespace.isEmpty()) {
+            return null;
+        }
+
+        return namespace.substring(0, Math.max(0, namespace.lastIndexOf('.')));
+    }
+
+    /**
+     * Whether the namespace is the prefix or one of its child namespaces, the empty prefix matching every namespace.
+     * The listings are filtered the same way whether they are cached or not.
+     */
+    static boolean matches(String namespace, String prefix) {
+        return prefix.isEmpty() || namespace.equals(prefix) || namespace.startsWith(childPrefix(prefix));
+    }
+
+    /**
+     * The namespace equal to the prefix and its child namespaces.
+     */
+    private static List<String> matching(NavigableSet<String> namespaces, String prefix) {
+        if (prefix.isEmpty()) {
+            return List.copyOf(namespaces);
+        }
+
+        List<String> matching = new ArrayList<>();
+        if (namespaces.contains(prefix)) {
+            matching.add(prefix);
+        }
+        String childPrefix = childPrefix(prefix);
+        matching.addAll(namespaces.subSet(childPrefix, true, childPrefix + Character.MAX_VALUE, false));
+        return List.copyOf(matching);
+    }
+
+    private static String childPrefix(String prefix) {
+        return prefix.endsWith(".") ? prefix : prefix + ".";
+    }
+
+    private record Key(Source source, String prefix) {}
+
+    private record Listing(NavigableSet<String> namespaces, long loadedAt, Duration ttl) {
+        boolean isFresh(long now, Duration maxAge) {
+            return now - loadedAt < Math.min(ttl.toNanos(), maxAge.toNanos());
+        }
+    }
+}
@@ -12,6 +12,8 @@ import jakarta.annotation.Nullable;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.time.Duration;
+
 @SuperBuilder(toBuilder = true)
 @ToString
 @EqualsAndHashCode
@@ -56,22 +58,68 @@ import lombok.experimental.SuperBuilder;
                     prefix: dev
                     tenantId: mytenant
                 """
+        ),
+        @Example(
+            title = "Iterate over the namespaces with flows, caching the listing on the worker for 10 minutes",
+            full = true,
+            code = """
+                id: for_each_namespace
+                namespace: company.team
+
+                tasks:
+                  - id: list_namespaces
+                    type: io.kestra.plugin.kestra.namespaces.NamespacesWithFlows
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    prefix: company
+                    cacheTtl: PT10M
+
+                  - id: for_each
+                    type: io.kestra.plugin.core.flow.ForEach
+                    values: "{{ outputs.list_namespaces.namespaces }}"
+                    tasks:
+                      - id: log
+                        type: io.kestra.plugin.core.log.Log
+                        message: "{{ taskrun.value }}"
+                """
         )
     }
 )
 public class NamespacesWithFlows extends AbstractKestraTask implements RunnableTask<NamespacesWithFlows.Output> {
 
-    @Schema(title = "The namespace prefix, if null, all namespaces will be listed.")
+    @Schema(
+        title = "The namespace prefix, if null, all namespaces will be listed.",
+        description = "The prefix matches the namespace itself and its child namespaces: `company` matches `company` and `company.team`, but not `company2`."
+    )
     @Nullable
     private Property<String> prefix;
 
+    @Schema(
+        title = "How long the listing is cached on the worker",
+        description = "If set, the namespaces are cached on the worker by Kestra URL, tenant, credentials and prefix, and shared with the other tasks running on it. " +
+            "A cached listing also answers its child namespaces. If null, the server is always called."
+    )
+    @Nullable
+    private Property<Duration> cacheTtl;
+
     @Override
     public NamespacesWithFlows.Output run(RunContext runContext) throws Exception {
         String ns = runContext.render(prefix).as(String.class).orElse("");
         String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
 
+        Duration rCacheTtl = runContext.render(cacheTtl).as(Duration.class).orElse(null);
+
         KestraClient kestraClient = kestraClient(runContext);
-        java.util.List<String> results = kestraClient.flows().listDistinctNamespaces(tId, ns);
+        java.util.List<String> results = rCacheTtl == null ?
+            kestraClient.flows().listDistinctNamespaces(tId, ns).stream().filter(namespace -> NamespaceListingCache.matches(namespace, ns)).toList() :
+            NamespaceListingCache.get(
+                new NamespaceListingCache.Source(renderKestraUrl(runContext), tId, renderAuthIdentity(runContext), "flows", false),
+                ns,
+                rCacheTtl,
+                () -> kestraClient.flows().listDistinctNamespaces(tId, ns)
+            );
 
         return NamespacesWithFlows.Output.builder()
             .namespaces(results)
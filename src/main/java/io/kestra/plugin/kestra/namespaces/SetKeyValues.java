@@ -0,0 +1,178 @@
+package io.kestra.plugin.kestra.namespaces;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.sdk.KestraClient;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Set many Kestra KV pairs at once",
+    description = "Writes the values of many keys, in one or several namespaces, concurrently. " +
+        "The values are given as a map by namespace and key, or streamed from an ION file for large batches. " +
+        "The values cached on the worker by `GetKeyValues` with the same credentials are replaced by the written ones."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Write configuration keys in two namespaces",
+            full = true,
+            code = """
+                id: write_configuration
+                namespace: company.team
+
+                tasks:
+                  - id: set
+                    type: io.kestra.plugin.kestra.namespaces.SetKeyValues
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    values:
+                      company.team:
+                        database_host: db.company.com
+                        database_port: 5432
+                      company.shared:
+                        feature_flags:
+                          new_ui: true
+                """
+        )
+    }
+)
+public class SetKeyValues extends AbstractKestraTask implements RunnableTask<SetKeyValues.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Nullable
+    @Schema(
+        title = "The values to write",
+        description = "A map of the namespace to the map of its keys and values."
+    )
+    private Property<Map<String, Map<String, Object>>> values;
+
+    @Nullable
+    @Schema(
+        title = "The URI of an ION file with the values to write",
+        description = "Each row must contain the `namespace`, the `key` and the `value`, such as the file stored by `GetKeyValues`. Written after `values`."
+    )
+    private Property<String> from;
+
+    @Schema(
+        title = "The maximum number of keys written concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(8);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SetKeyValues.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        Map<String, Map<String, Object>> rValues = (Map<String, Map<String, Object>>) (Map<String, ?>) runContext.render(values).asMap(String.class, Map.class);
+        String rFrom = runContext.render(from).as(String.class).orElse(null);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(8);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        if (rValues.isEmpty() && rFrom == null) {
+            throw new IllegalArgumentException("At least one of `values` or `from` must be set");
+        }
+
+        KestraClient kestraClient = kestraClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+        String url = renderKestraUrl(runContext);
+        String identity = renderAuthIdentity(runContext);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rValues.forEach((namespace, namespaceValues) -> namespaceValues.forEach((key, value) -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("namespace", namespace);
+            row.put("key", key);
+            row.put("value", value);
+            rows.add(row);
+        }));
+
+        Long count;
+        try (var reader = rFrom == null ? null : new BufferedReader(new InputStreamReader(runContext.storage().getFile(URI.create(rFrom))), FileSerde.BUFFER_SIZE)) {
+            Flux<Map<String, Object>> all = Flux.fromIterable(rows);
+            if (reader != null) {
+                all = all.concatWith(FileSerde.readAll(reader).map(row -> (Map<String, Object>) row));
+            }
+
+            count = all
+                .flatMap(
+                    row -> Mono.fromRunnable(() -> set(kestraClient, limiter, url, tId, identity, row))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(1L),
+                    rConcurrency
+                )
+                .count()
+                .block();
+        }
+
+        runContext.metric(Counter.of("keys", count));
+        runContext.logger().info("Set {} keys", count);
+
+        return Output.builder()
+            .size(count)
+            .build();
+    }
+
+    private static void set(KestraClient kestraClient, AdaptiveConcurrencyLimiter limiter, String url, String tenantId, String identity, Map<String, Object> row) {
+        String namespace = (String) row.get("namespace");
+        String key = (String) row.get("key");
+        Object value = row.get("value");
+        if (namespace == null || key == null) {
+            throw new IllegalArgumentException("Each value must have a `namespace` and a `key`, got " + row);
+        }
+
+        try {
+            // the value is sent as JSON so that the server keeps its type, a string included
+            String body = MAPPER.writeValueAsString(value);
+            limiter.call(() -> {
+                kestraClient.kv().setKeyValue(namespace, key, tenantId, body);
+                return null;
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to set the key '" + key + "' in the namespace '" + namespace + "': " + e.getMessage(), e);
+        }
+
+        KeyValueCache.update(new KeyValueCache.Key(url, tenantId, identity, namespace, key), value);
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "The number of written keys")
+        private Long size;
+    }
+}
@@ -0,0 +1,300 @@
+package io.kestra.plugin.kestra.namespaces;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.Paginator;
+import io.kestra.sdk.KestraClient;
+import io.kestra.sdk.model.Execution;
+import io.kestra.sdk.model.Namespace;
+import io.kestra.sdk.model.PagedResultsExecution;
+import io.kestra.sdk.model.PagedResultsNamespace;
+import io.kestra.sdk.model.StateType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Build the tree of Kestra namespaces with their flow and execution counts",
+    description = "Lists the namespaces, arranges them in a tree following their dot-separated hierarchy, then counts for each namespace " +
+        "its flows, its executions created within the time range and the state of its last execution. " +
+        "The counts are fetched concurrently with searches of a single result, only their total is read. " +
+        "The counts of a node include the ones of its children, the `ownFlows` and `ownExecutions` only count the namespace itself."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Build an inventory of the namespaces with the executions of the last 30 days",
+            full = true,
+            code = """
+                id: namespace_inventory
+                namespace: company.team
+
+                tasks:
+                  - id: tree
+                    type: io.kestra.plugin.kestra.namespaces.Tree
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    prefix: company
+                    timeRange: P30D
+
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ outputs.tree.namespaces | toJson }}"
+                """
+        )
+    }
+)
+public class Tree extends AbstractKestraTask implements RunnableTask<Tree.Output> {
+    private static final List<String> LAST_EXECUTION_SORT = List.of("state.startDate:desc");
+
+    @Schema(
+        title = "The namespace prefix, if null, all namespaces will be listed.",
+        description = "The prefix matches the namespace itself and its child namespaces, `company` does not match `company2`. " +
+            "The tree is rooted at the namespaces matching the prefix, their parents not matching it are left out."
+    )
+    @Nullable
+    private Property<String> prefix;
+
+    @Schema(
+        title = "Only include the namespaces having flows",
+        description = "Set to false, the namespaces without flows are also included, such as the ones only holding files or KV pairs."
+    )
+    @Builder.Default
+    private Property<Boolean> withFlowsOnly = Property.ofValue(true);
+
+    @Schema(title = "Only count the executions created within this duration.")
+    @Builder.Default
+    private Property<Duration> timeRange = Property.ofValue(Duration.ofDays(7));
+
+    @Schema(
+        title = "The maximum number of namespaces counted concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(10);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Override
+    public Tree.Output run(RunContext runContext) throws Exception {
+        String rPrefix = runContext.render(prefix).as(String.class).orElse("");
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        boolean rWithFlowsOnly = runContext.render(withFlowsOnly).as(Boolean.class).orElse(true);
+        Duration rTimeRange = runContext.render(timeRange).as(Duration.class).orElse(Duration.ofDays(7));
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(10);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        KestraClient kestraClient = kestraClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+
+        List<String> namespaces = (rWithFlowsOnly ?
+            Flux.fromIterable(kestraClient.flows().listDistinctNamespaces(tId, rPrefix)) :
+            Paginator.items(
+                    (page, pageSize) -> kestraClient.namespaces().searchNamespaces(page, pageSize, false, tId, rPrefix, null),
+                    PagedResultsNamespace::getResults,
+                    PagedResultsNamespace::getTotal,
+                    100
+                )
+                .map(Namespace::getId)
+            )
+            // the server also returns the namespaces only starting with the prefix, such as `company2` for `company`
+            .filter(namespace -> NamespaceListingCache.matches(namespace, rPrefix))
+            .distinct()
+            .collectList()
+            .block();
+
+        Map<String, Counts> counts = Flux.fromIterable(namespaces)
+            .flatMap(
+                namespace -> Mono.fromCallable(() -> Map.entry(namespace, count(kestraClient, limiter, tId, namespace, rTimeRange)))
+                    .subscribeOn(Schedulers.boundedElastic()),
+                rConcurrency
+            )
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .block();
+
+        // every namespace is attached to its parent, adding the intermediate namespaces that only exist through their children
+        Map<String, TreeSet<String>> children = new TreeMap<>();
+        TreeSet<String> roots = new TreeSet<>();
+        for (String namespace : namespaces) {
+            String current = namespace;
+            String parent = parent(current);
+            while (parent != null && NamespaceListingCache.matches(parent, rPrefix)) {
+                if (!children.computeIfAbsent(parent, key -> new TreeSet<>()).add(current)) {
+                    break;
+                }
+                current = parent;
+                parent = parent(current);
+            }
+            if (parent == null || !NamespaceListingCache.matches(parent, rPrefix)) {
+                roots.add(current);
+            }
+        }
+
+        List<Node> tree = roots.stream()
+            .map(root -> node(root, children, counts))
+            .toList();
+
+        runContext.logger().info("Built the tree of {} namespaces with {} roots", namespaces.size(), tree.size());
+
+        return Output.builder()
+            .namespaces(tree)
+            .size((long) namespaces.size())
+            .flows(tree.stream().mapToLong(Node::getFlows).sum())
+            .executions(tree.stream().mapToLong(Node::getExecutions).sum())
+            .build();
+    }
+
+    /**
+     * Counts with searches of a single result, the namespace filter of the searches also matches the child namespaces.
+     */
+    private static Counts count(
+        KestraClient kestraClient,
+        AdaptiveConcurrencyLimiter limiter,
+        String tenantId,
+        String namespace,
+        Duration timeRange
+    ) throws Exception {
+        long flows = limiter.call(() -> kestraClient.flows().searchFlows(1, 1, tenantId, null, null, null, null, namespace, null))
+            .getTotal();
+
+        PagedResultsExecution executions = limiter.call(() -> kestraClient.executions().searchExecutions(
+            1,
+            1,
+            tenantId,
+            LAST_EXECUTION_SORT,
+            null,
+            null,
+            null,
+            namespace,
+            null,
+            null,
+            null,
+            timeRange.toString(),
+            null,
+            null,
+            null,
+            null
+        ));
+        Execution last = executions.getResults().isEmpty() ? null : executions.getResults().getFirst();
+
+        return new Counts(
+            flows,
+            executions.getTotal(),
+            last == null ? null : last.getState().getCurrent(),
+            last == null ? null : last.getState().getStartDate()
+        );
+    }
+
+    /**
+     * Builds the node bottom-up, an intermediate namespace that was not counted gets the sum of its children.
+     */
+    private static Node node(String namespace, Map<String, TreeSet<String>> children, Map<String, Counts> counts) {
+        List<Node> childNodes = children.getOrDefault(namespace, new TreeSet<>()).stream()
+            .map(child -> node(child, children, counts))
+            .toList();
+
+        long childFlows = childNodes.stream().mapToLong(Node::getFlows).sum();
+        long childExecutions = childNodes.stream().mapToLong(Node::getExecutions).sum();
+        Counts own = counts.get(namespace);
+
+        Node.NodeBuilder node = Node.builder()
+            .namespace(namespace)
+            .flows(own != null ? own.flows() : childFlows)
+            .executions(own != null ? own.executions() : childExecutions)
+            .ownFlows(own != null ? Math.max(0, own.flows() - childFlows) : 0L)
+            .ownExecutions(own != null ? Math.max(0, own.executions() - childExecutions) : 0L)
+            .children(childNodes.isEmpty() ? null : childNodes);
+
+        if (own != null && own.lastExecutionDate() != null) {
+            node.lastExecutionState(own.lastExecutionState()).lastExecutionDate(own.lastExecutionDate());
+        } else {
+            childNodes.stream()
+                .filter(child -> child.getLastExecutionDate() != null)
+                .max(Comparator.comparing(Node::getLastExecutionDate))
+                .ifPresent(child -> node.lastExecutionState(child.getLastExecutionState()).lastExecutionDate(child.getLastExecutionDate()));
+        }
+
+        return node.build();
+    }
+
+    @Nullable
+    private static String parent(String namespace) {
+        int index = namespace.lastIndexOf('.');
+        return index > 0 ? namespace.substring(0, index) : null;
+    }
+
+    private record Counts(long flows, long executions, @Nullable StateType lastExecutionState, @Nullable OffsetDateTime lastExecutionDate) {}
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "The root namespaces of the tree, with their children")
+        private List<Node> namespaces;
+
+        @Schema(title = "The number of listed namespaces, not counting the intermediate ones")
+        private Long size;
+
+        @Schema(title = "The number of flows of the whole tree")
+        private Long flows;
+
+        @Schema(title = "The number of executions of the whole tree created within the time range")
+        private Long executions;
+    }
+
+    @Builder
+    @Getter
+    public static class Node {
+        @Schema(title = "The namespace")
+        private String namespace;
+
+        @Schema(title = "The number of flows of the namespace and its children")
+        private Long flows;
+
+        @Schema(title = "The number of executions of the namespace and its children created within the time range")
+        private Long executions;
+
+        @Schema(title = "The number of flows of the namespace itself")
+        private Long ownFlows;
+
+        @Schema(title = "The number of executions of the namespace itself created within the time range")
+        private Long ownExecutions;
+
+        @Schema(
+            title = "The state of the last execution of the namespace and its children",
+            description = "Only the executions created within the time range are considered."
+        )
+        private StateType lastExecutionState;
+
+        @Schema(title = "The start date of the last execution of the namespace and its children")
+        private OffsetDateTime lastExecutionDate;
+
+        @Schema(title = "The child namespaces, not set on a leaf")
+        private List<Node> children;
+    }
+}
@@ -0,0 +1,229 @@
+package io.kestra.plugin.kestra.namespaces;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.AdaptiveConcurrencyLimiter;
+import io.kestra.plugin.kestra.KestraHttpClient;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Upload files from the internal storage to Kestra namespace files",
+    description = "Uploads many files to one or several namespaces concurrently, the contents are streamed from the internal storage. " +
+        "With `skipUnchanged`, a file is only uploaded if the namespace file is missing or has another size or SHA-256 checksum, " +
+        "the checksum of a namespace file being only computed when its size matches."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Sync the scripts of a Git repository to several namespaces",
+            full = true,
+            code = """
+                id: sync_namespace_files
+                namespace: company.team
+
+                tasks:
+                  - id: clone
+                    type: io.kestra.plugin.core.flow.WorkingDirectory
+                    tasks:
+                      - id: git
+                        type: io.kestra.plugin.git.Clone
+                        url: https://github.com/company/scripts
+                    outputFiles:
+                      - "**/*.py"
+                      - "**/*.sql"
+
+                  - id: upload
+                    type: io.kestra.plugin.kestra.namespaces.UploadFiles
+                    kestraUrl: http://localhost:8080
+                    auth:
+                      username: admin@kestra.io # pass your Kestra username as secret or KV pair
+                      password: Admin1234 # pass your Kestra password as secret or KV pair
+                    namespaces:
+                      - company.team
+                      - company.data
+                    files: "{{ outputs.clone.outputFiles }}"
+                """
+        )
+    }
+)
+public class UploadFiles extends AbstractKestraTask implements RunnableTask<UploadFiles.Output> {
+    @Schema(title = "The namespaces to upload the files to.")
+    @NotNull
+    private Property<List<String>> namespaces;
+
+    @Schema(
+        title = "The files to upload",
+        description = "A map of the namespace file path to the URI of its content in the internal storage, such as the `outputFiles` of a task."
+    )
+    @NotNull
+    private Property<Map<String, String>> files;
+
+    @Schema(
+        title = "Skip the files whose content is already in the namespace.",
+        description = "The namespace files are compared by size, then by SHA-256 checksum if the size matches. " +
+            "As the server doesn't expose the checksum of a namespace file, the file is downloaded to compute it: " +
+            "skipping a large unchanged file costs as much transfer as uploading it, only the write on the server is saved."
+    )
+    @Builder.Default
+    private Property<Boolean> skipUnchanged = Property.ofValue(true);
+
+    @Schema(
+        title = "The maximum number of files transferred concurrently.",
+        description = "The effective concurrency is halved each time the server throttles a request and raised back progressively."
+    )
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(8);
+
+    @Schema(title = "The maximum number of retries of a throttled request (HTTP 429 or 5xx).")
+    @Builder.Default
+    private Property<Integer> maxRetries = Property.ofValue(5);
+
+    @Override
+    public UploadFiles.Output run(RunContext runContext) throws Exception {
+        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        List<String> rNamespaces = runContext.render(namespaces).asList(String.class);
+        Map<String, String> rFiles = runContext.render(files).asMap(String.class, String.class);
+        boolean rSkipUnchanged = runContext.render(skipUnchanged).as(Boolean.class).orElse(true);
+        int rConcurrency = runContext.render(concurrency).as(Integer.class).orElse(8);
+        int rMaxRetries = runContext.render(maxRetries).as(Integer.class).orElse(5);
+
+        KestraHttpClient httpClient = kestraHttpClient(runContext);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rConcurrency, rMaxRetries);
+
+        Map<String, URI> sources = new LinkedHashMap<>();
+        rFiles.forEach((path, uri) -> sources.put(NamespaceFiles.normalize(path), URI.create(uri)));
+
+        // the local digests are computed once, then compared with the files of every namespace
+        Map<String, NamespaceFiles.Digest> localDigests = !rSkipUnchanged ? Map.of() : Flux.fromIterable(sources.entrySet())
+            .flatMap(
+                source -> Mono.fromCallable(() -> Map.entry(
+                        source.getKey(),
+                        NamespaceFiles.digest(new BufferedInputStream(runContext.storage().getFile(source.getValue()), FileSerde.BUFFER_SIZE), null)
+                    ))
+                    .subscribeOn(Schedulers.boundedElastic()),
+                rConcurrency
+            )
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .block();
+
+        List<String> directories = sources.keySet().stream()
+            .map(path -> path.substring(0, path.lastIndexOf('/') + 1))
+            .distinct()
+            .toList();
+
+        AtomicLong uploaded = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+
+        for (String namespace : rNamespaces) {
+            // the existing files are listed once per directory instead of once per file
+            Map<String, NamespaceFiles.Entry> existing = !rSkipUnchanged ? Map.of() : Flux.fromIterable(directories)
+                .flatMap(
+                    directory -> Mono.fromCallable(() -> NamespaceFiles.list(httpClient, limiter, tId, namespace, directory))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                    rConcurrency
+                )
+                .flatMapIterable(entries -> entries)
+                .collectMap(NamespaceFiles.Entry::path, entry -> entry)
+                .block();
+
+            Flux.fromIterable(sources.entrySet())
+                .flatMap(
+                    source -> Mono.fromCallable(() -> {
+                            String path = source.getKey();
+                            if (rSkipUnchanged && isUnchanged(httpClient, limiter, tId, namespace, path, existing.get(path), localDigests.get(path))) {
+                                skipped.incrementAndGet();
+                                return 0L;
+                            }
+
+                            long size = NamespaceFiles.upload(
+                                httpClient,
+                                limiter,
+                                tId,
+                                namespace,
+                                path,
+                                () -> new BufferedInputStream(runContext.storage().getFile(source.getValue()), FileSerde.BUFFER_SIZE)
+                            );
+                            uploaded.incrementAndGet();
+                            return size;
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()),
+                    rConcurrency
+                )
+                .doOnNext(bytes::addAndGet)
+                .blockLast();
+        }
+
+        runContext.metric(Counter.of("uploaded", uploaded.get()));
+        runContext.metric(Counter.of("skipped", skipped.get()));
+        runContext.metric(Counter.of("bytes", bytes.get()));
+        runContext.logger().info(
+            "Uploaded {} files ({} bytes) to {} namespaces, {} unchanged files skipped",
+            uploaded.get(), bytes.get(), rNamespaces.size(), skipped.get()
+        );
+
+        return Output.builder()
+            .uploaded(uploaded.get())
+            .skipped(skipped.get())
+            .bytes(bytes.get())
+            .build();
+    }
+
+    /**
+     * A namespace file is unchanged when it has the same size and checksum, its content is only downloaded when the size matches.
+     */
+    private static boolean isUnchanged(
+        KestraHttpClient httpClient,
+        AdaptiveConcurrencyLimiter limiter,
+        String tenantId,
+        String namespace,
+        String path,
+        NamespaceFiles.Entry existing,
+        NamespaceFiles.Digest local
+    ) throws Exception {
+        if (existing == null || local == null || existing.size() != local.size()) {
+            return false;
+        }
+
+        NamespaceFiles.Digest remote = limiter.call(() -> NamespaceFiles.remoteDigest(httpClient, tenantId, namespace, path));
+        return Objects.equals(remote.sha256(), local.sha256());
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "The number of uploaded files, counting each namespace")
+        private Long uploaded;
+
+        @Schema(title = "The number of files skipped as they were unchanged, counting each namespace")
+        private Long skipped;
+
+        @Schema(title = "The number of uploaded bytes")
+        private Long bytes;
+    }
+}
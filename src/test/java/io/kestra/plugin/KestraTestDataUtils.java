@@ -1,5 +1,6 @@
 package io.kestra.plugin;
 
+import io.kestra.core.runners.RunContext;
 import io.kestra.sdk.KestraClient;
 import io.kestra.sdk.internal.ApiException;
 import io.kestra.sdk.model.*;
@@ -7,8 +8,12 @@ import jakarta.annotation.Nullable;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j; // Added for logging
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.Random;
 import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 /**
  * A helper class for Kestra SDK operations for test setup and data generation.
@@ -49,6 +54,12 @@ public class KestraTestDataUtils {
         return kestraClient.flows().createFlow(tenantId, flow);
     }
 
+    public FlowWithSource updateFlowDescription(FlowWithSource flow, String description) throws ApiException {
+        String source = flow.getSource() + "description: " + description + "\n";
+
+        return kestraClient.flows().updateFlow(flow.getNamespace(), flow.getId(), tenantId, source);
+    }
+
     public FlowWithSource createRandomizedPauseFlow(@Nullable String namespace) throws ApiException {
         String np = namespace != null ? namespace : "default";
     String flow =
@@ -85,6 +96,24 @@ public class KestraTestDataUtils {
         return kestraClient.flows().createFlow(tenantId, flow);
     }
 
+    public FlowWithSource createRandomizedSubflowFlow(@Nullable String namespace, String childNamespace, String childFlowId) throws ApiException {
+        String np = namespace != null ? namespace : "default";
+        String flow =
+            """
+                id: random_flow_%s
+                namespace: %s
+
+                tasks:
+                  - id: subflow
+                    type: io.kestra.plugin.core.flow.Subflow
+                    namespace: %s
+                    flowId: %s
+                    wait: true
+                """.formatted(UUID.randomUUID().toString().substring(0, 8).replace("-", "_"), np, childNamespace, childFlowId);
+
+        return kestraClient.flows().createFlow(tenantId, flow);
+    }
+
     public Namespace createRandomizedNamespace(@Nullable String namespaceId) throws ApiException {
         String nId = "namespace-" + UUID.randomUUID().toString().substring(0, 8).replace("-", "_");
         Namespace namespace = new Namespace().id(namespaceId != null ? namespaceId : nId);
@@ -214,4 +243,21 @@ public class KestraTestDataUtils {
             );
         return kestraClient.testSuites().createTestSuite(tenantId, testSuite);
     }
+
+    /**
+     * Counts the files of a ZIP archive from the internal storage, such as an export of flows.
+     */
+    public static int countFilesInZip(URI zipUri, RunContext runContext) throws Exception {
+        try (InputStream is = runContext.storage().getFile(zipUri);
+             ZipInputStream zis = new ZipInputStream(is)) {
+            int count = 0;
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
 }
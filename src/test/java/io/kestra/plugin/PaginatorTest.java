@@ -0,0 +1,81 @@
+package io.kestra.plugin;
+
+import io.kestra.plugin.kestra.Paginator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PaginatorTest {
+    private static final int SIZE = 10;
+
+    @Test
+    public void shouldFetchEveryItemWithoutTrailingPage() {
+        for (int prefetch : List.of(1, 3)) {
+            for (long total : List.of(0L, 1L, 9L, 10L, 11L, 15L, 20L, 21L)) {
+                AtomicInteger calls = new AtomicInteger();
+
+                List<Integer> items = Paginator.items(fetcher(total, calls), Page::results, Page::total, SIZE, prefetch)
+                    .collectList()
+                    .block();
+
+                String reason = "total " + total + " with prefetch " + prefetch;
+                assertThat(reason, items, is(IntStream.range(0, (int) total).boxed().toList()));
+                assertThat(reason, calls.get(), is((int) Math.max(1, (total + SIZE - 1) / SIZE)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldStopFetchingOnceCancelled() {
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Integer> items = Paginator.items(fetcher(100, calls), Page::results, Page::total, SIZE)
+            .take(5)
+            .collectList()
+            .block();
+
+        assertThat(items, hasSize(5));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void shouldStopOnEmptyPage() {
+        AtomicInteger calls = new AtomicInteger();
+
+        // the total announces 5 pages but the results shrank to 2 pages while paging
+        Paginator.PageFetcher<Page> shrinking = (page, size) -> {
+            calls.incrementAndGet();
+            List<Integer> results = page <= 2 ? IntStream.range((page - 1) * size, page * size).boxed().toList() : List.of();
+            return new Page(results, 50L);
+        };
+
+        assertThat(Paginator.items(shrinking, Page::results, Page::total, SIZE).count().block(), is(20L));
+        assertThat(calls.get(), is(3));
+    }
+
+    @Test
+    public void shouldRejectInvalidSize() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> Paginator.pages(fetcher(10, calls), Page::results, Page::total, 0));
+        assertThrows(IllegalArgumentException.class, () -> Paginator.pages(fetcher(10, calls), Page::results, Page::total, SIZE, 0));
+        assertThat(calls.get(), is(0));
+    }
+
+    private static Paginator.PageFetcher<Page> fetcher(long total, AtomicInteger calls) {
+        return (page, size) -> {
+            calls.incrementAndGet();
+            int from = (int) Math.min(total, (long) (page - 1) * size);
+            int to = (int) Math.min(total, (long) page * size);
+            return new Page(IntStream.range(from, to).boxed().toList(), total);
+        };
+    }
+
+    private record Page(List<Integer> results, Long total) {}
+}
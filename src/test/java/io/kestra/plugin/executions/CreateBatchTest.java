@@ -0,0 +1,67 @@
+package io.kestra.plugin.executions;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.executions.CreateBatch;
+import io.kestra.sdk.model.FlowWithSource;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.*;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class CreateBatchTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.executions.createbatch";
+
+    @Test
+    public void shouldCreateOneExecutionPerRow() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+
+        File inputs = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var writer = new BufferedWriter(new FileWriter(inputs), FileSerde.BUFFER_SIZE)) {
+            FileSerde.writeAll(writer, Flux.fromIterable(List.of(Map.of(), Map.of(), Map.of()))).block();
+        }
+        URI from = runContext.storage().putFile(inputs);
+
+        CreateBatch createBatch = CreateBatch.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(flow.getNamespace()))
+            .flowId(Property.ofValue(flow.getId()))
+            .from(Property.ofValue(from.toString()))
+            .concurrency(Property.ofValue(2))
+            .build();
+
+        CreateBatch.Output output = createBatch.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+            assertThat(rows, hasSize(3));
+            assertThat(((Map<?, ?>) rows.getFirst()).get("executionId"), is(notNullValue()));
+        }
+    }
+}
@@ -7,7 +7,6 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.VoidOutput;
-import io.kestra.core.models.tasks.common.FetchOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
 import io.kestra.plugin.AbstractKestraContainerTest;
@@ -171,7 +170,7 @@ public class DeleteTest extends AbstractKestraContainerTest {
             .fetchType(Property.ofValue(io.kestra.core.models.tasks.common.FetchType.FETCH))
             .build();
 
-    FetchOutput output = searchTask.run(runContext);
+    Query.Output output = searchTask.run(runContext);
 
     assertThat(output.getRows().size(), is(1));
 
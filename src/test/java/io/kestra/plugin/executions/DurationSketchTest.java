@@ -0,0 +1,54 @@
+package io.kestra.plugin.executions;
+
+import io.kestra.plugin.kestra.executions.DurationSketch;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class DurationSketchTest {
+    @Test
+    public void shouldComputeQuantilesWithinRelativeAccuracy() {
+        DurationSketch first = new DurationSketch(0.01);
+        DurationSketch second = new DurationSketch(0.01);
+        List<Long> values = new ArrayList<>();
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (long) Math.exp(random.nextDouble() * 15);
+            values.add(value);
+            (i % 2 == 0 ? first : second).add(Duration.ofMillis(value));
+        }
+        first.merge(second);
+        Collections.sort(values);
+
+        assertThat(first.count(), is(100_000L));
+        for (double quantile : List.of(0.5, 0.95, 0.99)) {
+            long exact = values.get((int) Math.floor(quantile * (values.size() - 1)));
+            long approximate = first.quantile(quantile).toMillis();
+
+            assertThat(approximate, is(both(greaterThanOrEqualTo((long) (exact * 0.98))).and(lessThanOrEqualTo((long) (exact * 1.02)))));
+        }
+    }
+
+    @Test
+    public void shouldCountHistogramBuckets() {
+        DurationSketch sketch = new DurationSketch(0.01);
+        sketch.add(Duration.ZERO);
+        sketch.add(Duration.ofMillis(500));
+        sketch.add(Duration.ofSeconds(30));
+        sketch.add(Duration.ofHours(2));
+
+        long[] histogram = sketch.histogram(List.of(Duration.ofSeconds(1), Duration.ofMinutes(1)));
+
+        assertThat(histogram[0], is(2L));
+        assertThat(histogram[1], is(1L));
+        assertThat(histogram[2], is(1L));
+    }
+}
@@ -2,7 +2,6 @@ package io.kestra.plugin.executions;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.common.FetchOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
 import io.kestra.plugin.AbstractKestraContainerTest;
@@ -43,10 +42,45 @@ public class QueryTest extends AbstractKestraContainerTest {
             .fetchType(Property.ofValue(io.kestra.core.models.tasks.common.FetchType.FETCH))
             .build();
 
-        FetchOutput output = searchTask.run(runContext);
+        Query.Output output = searchTask.run(runContext);
 
         assertThat(output, is(notNullValue()));
         assertThat(output.getRows(), is(notNullValue()));
         assertThat(output.getRows().size(), is(greaterThanOrEqualTo(1)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldStorePartitionedExecutions() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String namespace = NAMESPACE + ".partitioned";
+        FlowWithSource first = kestraTestDataUtils.createRandomizedFlow(namespace);
+        FlowWithSource second = kestraTestDataUtils.createRandomizedFlow(namespace);
+        kestraTestDataUtils.createRandomizedExecution(first.getId(), first.getNamespace());
+        kestraTestDataUtils.createRandomizedExecution(first.getId(), first.getNamespace());
+        kestraTestDataUtils.createRandomizedExecution(first.getId(), first.getNamespace());
+        kestraTestDataUtils.createRandomizedExecution(second.getId(), second.getNamespace());
+
+        Query searchTask = Query.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .size(Property.ofValue(2))
+            .partitionBy(Property.ofValue(Query.PartitionBy.FLOW))
+            .maxRowsPerFile(Property.ofValue(2))
+            .build();
+
+        Query.Output output = searchTask.run(runContext);
+
+        assertThat(output.getSize(), is(4L));
+        assertThat(output.getUri(), is(nullValue()));
+        assertThat(output.getPartitions(), hasSize(3));
+        assertThat(output.getPartitions().stream().mapToLong(Query.Partition::getRows).sum(), is(4L));
+        assertThat(output.getPartitions().stream().filter(partition -> partition.getKey().endsWith(first.getId())).count(), is(2L));
+    }
+}
@@ -0,0 +1,56 @@
+package io.kestra.plugin.executions;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.executions.Stats;
+import io.kestra.sdk.model.FlowWithSource;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class StatsTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.executions.stats";
+
+    @Test
+    public void shouldComputeDurationStatistics() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+        kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+        kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+
+        // Wait for the executions to be terminated
+        Thread.sleep(1000);
+
+        Stats stats = Stats.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .flowId(Property.ofValue(flow.getId()))
+            .build();
+
+        Stats.Output output = stats.run(runContext);
+
+        assertThat(output.getGroups(), hasSize(1));
+        assertThat(output.getGroups().getFirst().getFlowId(), is(flow.getId()));
+        assertThat(output.getTotal().getCount(), is(3L));
+        assertThat(output.getTotal().getPercentiles().keySet(), contains("p50", "p95", "p99"));
+        assertThat(output.getTotal().getHistogram(), hasSize(6));
+    }
+}
@@ -0,0 +1,75 @@
+package io.kestra.plugin.executions;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.executions.Query;
+import io.kestra.plugin.kestra.executions.Tree;
+import io.kestra.sdk.model.Execution;
+import io.kestra.sdk.model.FlowWithSource;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class TreeTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.executions.tree";
+
+    @Test
+    public void shouldCrawlChildExecutions() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource child = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        FlowWithSource parent = kestraTestDataUtils.createRandomizedSubflowFlow(NAMESPACE, child.getNamespace(), child.getId());
+        kestraTestDataUtils.createRandomizedExecution(parent.getId(), parent.getNamespace());
+
+        // Wait for the subflow execution to be created
+        Thread.sleep(2000);
+
+        Query query = Query.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .flowId(Property.ofValue(parent.getId()))
+            .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+            .build();
+        Query.Output queryOutput = query.run(runContext);
+        Execution root = (Execution) queryOutput.getRow().get("0");
+
+        Tree tree = Tree.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .executionId(Property.ofValue(root.getId()))
+            .build();
+
+        Tree.Output output = tree.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getUri(), is(notNullValue()));
+
+        List<Tree.Level> levels = output.getLevels();
+        assertThat(levels, hasSize(2));
+        assertThat(levels.get(1).getCount(), is(1));
+    }
+}
@@ -0,0 +1,150 @@
+package io.kestra.plugin.executions;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.executions.UpdateLabels;
+import io.kestra.sdk.model.FlowWithSource;
+import io.kestra.sdk.model.StateType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class UpdateLabelsTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.executions.updatelabels";
+
+    @Test
+    public void shouldUpdateLabelsOfMatchingExecutions() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+        kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+
+        // Wait for the executions to be terminated
+        Thread.sleep(1000);
+
+        UpdateLabels.Output output = updateLabelsTask(flow.getId()).run(runContext);
+
+        assertThat(output.getUpdated(), is(2L));
+        assertThat(output.getFailed(), is(0L));
+        assertThat(output.getFailures(), is(nullValue()));
+
+        output = updateLabelsTask(flow.getId()).run(runContext);
+
+        assertThat(output.getUpdated(), is(0L));
+        assertThat(output.getUnchanged(), is(2L));
+    }
+
+    @Test
+    public void shouldRemoveTheFilteredLabelOnEveryPage() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        for (int i = 0; i < 5; i++) {
+            kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+        }
+
+        // Wait for the executions to be terminated
+        Thread.sleep(1000);
+
+        UpdateLabels.Output output = updateLabelsTask(flow.getId()).run(runContext);
+        assertThat(output.getUpdated(), is(5L));
+
+        // the removed label is also the filter, so each update moves an execution out of the search results
+        UpdateLabels removeTask = UpdateLabels.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .flowId(Property.ofValue(flow.getId()))
+            .labels(Property.ofValue(Map.of("incident", "INC-1234")))
+            .removeLabels(Property.ofValue(List.of("incident")))
+            .size(Property.ofValue(2))
+            .build();
+
+        output = removeTask.run(runContext);
+
+        assertThat(output.getUpdated(), is(5L));
+        assertThat(output.getFailed(), is(0L));
+
+        output = removeTask.run(runContext);
+
+        assertThat(output.getUpdated(), is(0L));
+        assertThat(output.getUnchanged(), is(0L));
+    }
+
+    @Test
+    public void shouldKeepTheOtherLabelsOfTheExecutions() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        for (int i = 0; i < 3; i++) {
+            kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+        }
+
+        // Wait for the executions to be terminated
+        Thread.sleep(1000);
+
+        UpdateLabels.Output output = labelsTask(flow.getId(), Map.of(), Map.of("team", "data"), List.of()).run(runContext);
+        assertThat(output.getUpdated(), is(3L));
+
+        output = labelsTask(flow.getId(), Map.of(), Map.of("incident", "INC-1234"), List.of("retryable")).run(runContext);
+        assertThat(output.getUpdated(), is(3L));
+        assertThat(output.getFailed(), is(0L));
+
+        // the executions still carrying both labels are found by the filter and already up to date
+        output = labelsTask(flow.getId(), Map.of("team", "data", "incident", "INC-1234"), Map.of("team", "data"), List.of()).run(runContext);
+        assertThat(output.getUpdated(), is(0L));
+        assertThat(output.getUnchanged(), is(3L));
+    }
+
+    private UpdateLabels labelsTask(String flowId, Map<String, String> filter, Map<String, String> setLabels, List<String> removeLabels) {
+        return UpdateLabels.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .flowId(Property.ofValue(flowId))
+            .labels(Property.ofValue(filter))
+            .setLabels(Property.ofValue(setLabels))
+            .removeLabels(Property.ofValue(removeLabels))
+            .build();
+    }
+
+    private UpdateLabels updateLabelsTask(String flowId) {
+        return UpdateLabels.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .flowId(Property.ofValue(flowId))
+            .states(Property.ofValue(List.of(StateType.SUCCESS)))
+            .setLabels(Property.ofValue(Map.of("incident", "INC-1234")))
+            .build();
+    }
+}
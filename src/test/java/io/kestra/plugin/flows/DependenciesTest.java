@@ -0,0 +1,106 @@
+package io.kestra.plugin.flows;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.flows.Dependencies;
+import io.kestra.sdk.model.FlowWithSource;
+import io.kestra.sdk.model.IdWithNamespace;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class DependenciesTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.flows.dependencies";
+
+    @Test
+    public void shouldCrawlTheDependenciesOfAFlow() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource child = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        kestraTestDataUtils.createRandomizedSubflowFlow(NAMESPACE, child.getNamespace(), child.getId());
+
+        Dependencies dependencies = Dependencies.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .flows(Property.ofValue(List.of(new IdWithNamespace().namespace(child.getNamespace()).id(child.getId()))))
+            .build();
+
+        Dependencies.Output output = dependencies.run(runContext);
+
+        assertThat(output.getNodes(), is(2));
+        assertThat(output.getEdges(), is(1));
+        assertThat(output.getCyclic(), is(0));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+            assertThat(rows, hasSize(2));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldOnlyMarkTheFlowsOfACycleAsCyclic() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String namespace = NAMESPACE + ".cycle";
+        FlowWithSource downstream = kestraTestDataUtils.createRandomizedFlow(namespace);
+        FlowWithSource first = kestraTestDataUtils.createRandomizedSubflowFlow(namespace, namespace, downstream.getId());
+        FlowWithSource second = kestraTestDataUtils.createRandomizedSubflowFlow(namespace, namespace, first.getId());
+
+        // the first flow also calls the second one, closing the cycle while still calling the downstream flow
+        kestraTestDataUtils.getKestraClient().flows().updateFlow(namespace, first.getId(), TENANT_ID, first.getSource() + """
+              - id: cycle
+                type: io.kestra.plugin.core.flow.Subflow
+                namespace: %s
+                flowId: %s
+                wait: true
+            """.formatted(namespace, second.getId()));
+
+        Dependencies dependencies = Dependencies.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespaces(Property.ofValue(List.of(namespace)))
+            .build();
+
+        Dependencies.Output output = dependencies.run(runContext);
+
+        assertThat(output.getNodes(), is(3));
+        assertThat(output.getCyclic(), is(2));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            List<Map<String, Object>> rows = FileSerde.readAll(reader).map(row -> (Map<String, Object>) row).collectList().block();
+            assertThat(rows, hasSize(3));
+
+            Map<String, Object> last = rows.getLast();
+            assertThat(last.get("id"), is(downstream.getId()));
+            assertThat(last.get("cyclic"), is(false));
+            assertThat(rows.stream().filter(row -> Boolean.TRUE.equals(row.get("cyclic"))).map(row -> row.get("id")).toList(), containsInAnyOrder(first.getId(), second.getId()));
+        }
+    }
+}
@@ -4,7 +4,9 @@ import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.KestraTestDataUtils;
 import io.kestra.plugin.kestra.AbstractKestraTask;
 import io.kestra.plugin.kestra.flows.ExportById;
 import io.kestra.sdk.model.FlowWithSource;
@@ -12,7 +14,13 @@ import io.kestra.sdk.model.IdWithNamespace;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -59,6 +67,67 @@ public class ExportByIdTest extends AbstractKestraContainerTest {
         ExportById.Output listFlowsOutput = exportFlows.run(runContext);
 
         assertThat(listFlowsOutput.getFlowsZip(), is(notNullValue()));
+        assertThat(listFlowsOutput.getSize(), is(2));
     }
 
+    @Test
+    public void shouldExportFlowsInChunks() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List<IdWithNamespace> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE + ".chunks");
+            ids.add(new IdWithNamespace().id(flow.getId()).namespace(flow.getNamespace()));
+        }
+        // the same flow requested twice must only be exported once
+        ids.add(ids.getFirst());
+
+        ExportById exportFlows = ExportById.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .flows(Property.ofValue(ids))
+            .chunkSize(Property.ofValue(2))
+            .concurrency(Property.ofValue(2))
+            .build();
+
+        ExportById.Output output = exportFlows.run(runContext);
+
+        assertThat(output.getSize(), is(5));
+        assertThat(KestraTestDataUtils.countFilesInZip(output.getFlowsZip(), runContext), is(5));
+    }
+
+    @Test
+    public void shouldExportFlowsListedInAFile() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var output = new BufferedOutputStream(new FileOutputStream(file), FileSerde.BUFFER_SIZE)) {
+            for (int i = 0; i < 3; i++) {
+                FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE + ".file");
+                FileSerde.write(output, Map.of("namespace", flow.getNamespace(), "id", flow.getId()));
+            }
+        }
+        URI from = runContext.storage().putFile(file);
+
+        ExportById exportFlows = ExportById.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .from(Property.ofValue(from.toString()))
+            .chunkSize(Property.ofValue(2))
+            .build();
+
+        ExportById.Output output = exportFlows.run(runContext);
+
+        assertThat(output.getSize(), is(3));
+    }
 }
@@ -4,21 +4,20 @@ import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
 import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.KestraTestDataUtils;
 import io.kestra.plugin.kestra.AbstractKestraTask;
 import io.kestra.plugin.kestra.flows.Export;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
-import java.io.InputStream;
-import java.net.URI;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.is;
-import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @KestraTest
 public class ExportTest extends AbstractKestraContainerTest {
@@ -50,7 +49,7 @@ public class ExportTest extends AbstractKestraContainerTest {
 
 
         Export.Output listFlowsOutput = exportFlows.run(runContext);
-        int fileCount = countFilesInZip(listFlowsOutput.getFlowsZip(), runContext);
+        int fileCount = KestraTestDataUtils.countFilesInZip(listFlowsOutput.getFlowsZip(), runContext);
 
         assertThat(listFlowsOutput.getFlowsZip(), is(notNullValue()));
         assertThat(fileCount, is(4));
@@ -69,26 +68,154 @@ public class ExportTest extends AbstractKestraContainerTest {
 
         listFlowsOutput = exportFlows.run(runContext);
 
-        fileCount = countFilesInZip(listFlowsOutput.getFlowsZip(), runContext);
+        fileCount = KestraTestDataUtils.countFilesInZip(listFlowsOutput.getFlowsZip(), runContext);
 
         assertThat(listFlowsOutput.getFlowsZip(), is(notNullValue()));
         assertThat(fileCount, is(1));
     }
 
-    public int countFilesInZip(URI zipUri, RunContext runContext) throws Exception {
-        try (InputStream is = runContext.storage().getFile(zipUri);
-             ZipInputStream zis = new ZipInputStream(is)) {
-            int count = 0;
-            ZipEntry entry;
-            while ((entry = zis.getNextEntry()) != null) {
-                if (!entry.isDirectory()) {
-                    count++;
-                }
-            }
-            return count;
-        }
+    @Test
+    public void shouldExportOnlyChangedFlowsIncrementally() throws Exception {
+        String namespace = NAMESPACE + ".incremental";
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+
+        Export exportFlows = Export.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .incremental(Property.ofValue(true))
+            .manifestKey(Property.ofValue("incremental_test_manifest"))
+            .build();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, exportFlows, Map.of());
+
+        Export.Output output = exportFlows.run(runContext);
+
+        assertThat(output.getChanged(), is(2));
+        assertThat(KestraTestDataUtils.countFilesInZip(output.getFlowsZip(), runContext), is(2));
+
+        output = exportFlows.run(runContext);
+
+        assertThat(output.getChanged(), is(0));
+        assertThat(output.getFlowsZip(), is(nullValue()));
+        assertThat(output.getDeleted(), is(empty()));
+
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+        output = exportFlows.run(runContext);
+
+        assertThat(output.getChanged(), is(1));
+        assertThat(KestraTestDataUtils.countFilesInZip(output.getFlowsZip(), runContext), is(1));
     }
 
-}
+    @Test
+    public void shouldExportFlowsShardedByNamespace() throws Exception {
+        RunContext runContext = runContextFactory.of();
 
+        String namespace = NAMESPACE + ".sharded";
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+        kestraTestDataUtils.createRandomizedFlow(namespace + ".first");
+        kestraTestDataUtils.createRandomizedFlow(namespace + ".first");
+        kestraTestDataUtils.createRandomizedFlow(namespace + ".second");
 
+        Export exportFlows = Export.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .shardByNamespace(Property.ofValue(true))
+            .build();
+
+        Export.Output output = exportFlows.run(runContext);
+
+        assertThat(output.getFailedNamespaces(), is(empty()));
+        assertThat(KestraTestDataUtils.countFilesInZip(output.getFlowsZip(), runContext), is(4));
+
+        exportFlows = Export.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .shardByNamespace(Property.ofValue(true))
+            .shardOutput(Property.ofValue(Export.ShardOutput.PER_NAMESPACE))
+            .build();
+
+        output = exportFlows.run(runContext);
+
+        assertThat(output.getFlowsZip(), is(nullValue()));
+        assertThat(output.getNamespaceArchives().keySet(), contains(namespace, namespace + ".first", namespace + ".second"));
+        assertThat(KestraTestDataUtils.countFilesInZip(output.getNamespaceArchives().get(namespace), runContext), is(1));
+        assertThat(KestraTestDataUtils.countFilesInZip(output.getNamespaceArchives().get(namespace + ".first"), runContext), is(2));
+    }
+
+    @Test
+    public void shouldRejectDeduplicationOfPerNamespaceArchives() {
+        RunContext runContext = runContextFactory.of();
+
+        Export exportFlows = Export.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .shardByNamespace(Property.ofValue(true))
+            .shardOutput(Property.ofValue(Export.ShardOutput.PER_NAMESPACE))
+            .deduplicate(Property.ofValue(true))
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> exportFlows.run(runContext));
+    }
+
+    @Test
+    public void shouldReuseTheArchiveWhenNothingChanged() throws Exception {
+        String namespace = NAMESPACE + ".deduplicated";
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+
+        Export exportFlows = Export.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .deduplicate(Property.ofValue(true))
+            .deduplicationKey(Property.ofValue("deduplicated_test_archive"))
+            .build();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, exportFlows, Map.of());
+
+        Export.Output first = exportFlows.run(runContext);
+
+        assertThat(first.getArchiveChanged(), is(true));
+        assertThat(first.getHash(), is(notNullValue()));
+
+        Export.Output second = exportFlows.run(runContext);
+
+        assertThat(second.getArchiveChanged(), is(false));
+        assertThat(second.getHash(), is(first.getHash()));
+        assertThat(second.getFlowsZip(), is(first.getFlowsZip()));
+
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+        Export.Output third = exportFlows.run(runContext);
+
+        assertThat(third.getArchiveChanged(), is(true));
+        assertThat(third.getHash(), is(not(first.getHash())));
+        assertThat(KestraTestDataUtils.countFilesInZip(third.getFlowsZip(), runContext), is(2));
+    }
+}
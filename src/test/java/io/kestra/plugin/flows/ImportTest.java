@@ -0,0 +1,166 @@
+package io.kestra.plugin.flows;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.flows.Import;
+import io.kestra.sdk.model.FlowWithSource;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class ImportTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.flows.import";
+
+    @Test
+    public void shouldOnlyImportChangedFlows() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource unchanged = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        FlowWithSource updated = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        String createdId = "imported_flow_" + UUID.randomUUID().toString().substring(0, 8);
+
+        URI from = storeArchive(runContext, Map.of(
+            unchanged.getId() + ".yml", unchanged.getSource(),
+            updated.getId() + ".yml", updated.getSource() + "description: updated by the import\n",
+            createdId + ".yml", newFlowSource(createdId)
+        ));
+
+        Import importFlows = Import.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .from(Property.ofValue(from.toString()))
+            .batchSize(Property.ofValue(2))
+            .build();
+
+        Import.Output output = importFlows.run(runContext);
+
+        assertThat(output.getCreated(), is(1L));
+        assertThat(output.getUpdated(), is(1L));
+        assertThat(output.getUnchanged(), is(1L));
+        assertThat(output.getFailed(), is(0L));
+        assertThat(output.getFailures(), is(nullValue()));
+
+        output = importFlows.run(runContext);
+
+        assertThat(output.getUnchanged(), is(3L));
+    }
+
+    @Test
+    public void shouldCreateFlowsThatDontExistYet() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource existing = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        String firstId = "imported_flow_" + UUID.randomUUID().toString().substring(0, 8);
+        String secondId = "imported_flow_" + UUID.randomUUID().toString().substring(0, 8);
+
+        // the new flows are in the same batch as an existing one
+        URI from = storeArchive(runContext, Map.of(
+            existing.getId() + ".yml", existing.getSource(),
+            firstId + ".yml", newFlowSource(firstId),
+            secondId + ".yml", newFlowSource(secondId)
+        ));
+
+        Import importFlows = Import.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .from(Property.ofValue(from.toString()))
+            .build();
+
+        Import.Output output = importFlows.run(runContext);
+
+        assertThat(output.getCreated(), is(2L));
+        assertThat(output.getUnchanged(), is(1L));
+        assertThat(output.getFailed(), is(0L));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldReportTheBrokenEntriesAndImportTheOthers() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String createdId = "imported_flow_" + UUID.randomUUID().toString().substring(0, 8);
+        URI from = storeArchive(runContext, Map.of(
+            "broken.yml", "id: [not a flow\n",
+            createdId + ".yml", newFlowSource(createdId)
+        ));
+
+        Import importFlows = Import.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .from(Property.ofValue(from.toString()))
+            .build();
+
+        Import.Output output = importFlows.run(runContext);
+
+        assertThat(output.getCreated(), is(1L));
+        assertThat(output.getFailed(), is(1L));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getFailures())))) {
+            List<Map<String, Object>> failures = FileSerde.readAll(reader).map(row -> (Map<String, Object>) row).collectList().block();
+            assertThat(failures, hasSize(1));
+            assertThat(failures.getFirst().get("entryName"), is("broken.yml"));
+        }
+    }
+
+    private static String newFlowSource(String id) {
+        return """
+            id: %s
+            namespace: %s
+
+            tasks:
+              - id: hello
+                type: io.kestra.plugin.core.log.Log
+                message: Imported
+            """.formatted(id, NAMESPACE);
+    }
+
+    private static URI storeArchive(RunContext runContext, Map<String, String> sources) throws Exception {
+        File archive = runContext.workingDir().createTempFile(".zip").toFile();
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(archive))) {
+            for (Map.Entry<String, String> entry : sources.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return runContext.storage().putFile(archive);
+    }
+}
@@ -2,6 +2,7 @@ package io.kestra.plugin.flows;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
 import io.kestra.plugin.AbstractKestraContainerTest;
@@ -11,7 +12,7 @@ import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.*;
 
 @KestraTest
 public class ListTest extends AbstractKestraContainerTest {
@@ -42,4 +43,82 @@ public class ListTest extends AbstractKestraContainerTest {
 
         assertThat(listFlowsOutput.getFlows().size(), is(2));
     }
+
+    @Test
+    public void shouldStoreFlows() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String namespace = NAMESPACE + ".store";
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+        // flows of child namespaces are not listed
+        kestraTestDataUtils.createRandomizedFlow(namespace + ".child");
+
+        List listFlows = List.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .size(Property.ofValue(2))
+            .build();
+
+        List.Output output = listFlows.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(output.getFlows(), is(nullValue()));
+        assertThat(output.getUri(), is(notNullValue()));
+
+        listFlows = List.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+            .build();
+
+        output = listFlows.run(runContext);
+
+        assertThat(output.getFlow().getNamespace(), is(namespace));
+    }
+
+    @Test
+    public void shouldListFlowsOfChildNamespaces() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String namespace = NAMESPACE + ".recursive";
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+        kestraTestDataUtils.createRandomizedFlow(namespace + ".first");
+        kestraTestDataUtils.createRandomizedFlow(namespace + ".first.nested");
+        kestraTestDataUtils.createRandomizedFlow(namespace + ".second");
+        // a namespace sharing the prefix but not a child
+        kestraTestDataUtils.createRandomizedFlow(namespace + "suffix");
+
+        List listFlows = List.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .includeChildNamespaces(Property.ofValue(true))
+            .summaryOnly(Property.ofValue(true))
+            .build();
+
+        List.Output output = listFlows.run(runContext);
+
+        assertThat(output.getFlows(), hasSize(4));
+        assertThat(output.getFlows().getFirst().getTasks(), is(nullValue()));
+    }
 }
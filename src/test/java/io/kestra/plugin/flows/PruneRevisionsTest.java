@@ -0,0 +1,153 @@
+package io.kestra.plugin.flows;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.flows.PruneRevisions;
+import io.kestra.sdk.model.FlowWithSource;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class PruneRevisionsTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.flows.prune";
+    // outside of NAMESPACE, so that the flows of the keepAfter tests are not pruned by the other tests
+    protected static final String KEEP_AFTER_NAMESPACE = "kestra.tests.flows.keepafter";
+
+    @Test
+    public void shouldKeepTheLastRevisions() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        for (int i = 1; i <= 4; i++) {
+            // each update creates a new revision, 5 in total
+            kestraTestDataUtils.updateFlowDescription(flow, "revision " + (i + 1));
+        }
+
+        PruneRevisions preview = PruneRevisions.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .keepLast(Property.ofValue(2))
+            .dryRun(Property.ofValue(true))
+            .build();
+
+        PruneRevisions.Output output = preview.run(runContext);
+
+        assertThat(output.getFlows(), is(1L));
+        assertThat(output.getRemoved(), is(3L));
+
+        PruneRevisions prune = PruneRevisions.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .keepLast(Property.ofValue(2))
+            .batchSize(Property.ofValue(2))
+            .build();
+
+        output = prune.run(runContext);
+
+        assertThat(output.getRemoved(), is(3L));
+        assertThat(output.getFailed(), is(0L));
+
+        output = prune.run(runContext);
+
+        assertThat(output.getRemoved(), is(0L));
+    }
+
+    @Test
+    public void shouldKeepTheRevisionsAfterADate() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String namespace = KEEP_AFTER_NAMESPACE + ".preview";
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(namespace);
+        for (int i = 1; i <= 2; i++) {
+            // each update creates a new revision, 3 in total
+            kestraTestDataUtils.updateFlowDescription(flow, "revision " + (i + 1));
+        }
+
+        PruneRevisions.Output output = keepAfterTask(namespace, ZonedDateTime.now().minusDays(1)).run(runContext);
+
+        assertThat(output.getRemoved(), is(0L));
+        assertThat(output.getFailed(), is(0L));
+
+        // every revision is older than a date in the future, but the current one is never removed
+        output = keepAfterTask(namespace, ZonedDateTime.now().plusDays(1)).run(runContext);
+
+        assertThat(output.getRemoved(), is(2L));
+        assertThat(output.getFailed(), is(0L));
+    }
+
+    @Test
+    public void shouldDeleteTheRevisionsBeforeADate() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String namespace = KEEP_AFTER_NAMESPACE + ".delete";
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(namespace);
+        for (int i = 1; i <= 2; i++) {
+            kestraTestDataUtils.updateFlowDescription(flow, "revision " + (i + 1));
+        }
+
+        // the revisions 1 to 3 are older than the date, the revisions 4 and 5 newer
+        Thread.sleep(1000);
+        ZonedDateTime keepAfter = ZonedDateTime.now();
+        Thread.sleep(1000);
+        for (int i = 3; i <= 4; i++) {
+            kestraTestDataUtils.updateFlowDescription(flow, "revision " + (i + 1));
+        }
+
+        PruneRevisions.Output output = pruneTask(namespace, keepAfter, null, false).run(runContext);
+
+        assertThat(output.getRemoved(), is(3L));
+        assertThat(output.getFailed(), is(0L));
+
+        // no revision older than the date is left
+        output = pruneTask(namespace, keepAfter, null, true).run(runContext);
+        assertThat(output.getRemoved(), is(0L));
+
+        // the revision 4 is left beside the current one
+        output = pruneTask(namespace, null, 1, true).run(runContext);
+        assertThat(output.getRemoved(), is(1L));
+    }
+
+    private PruneRevisions keepAfterTask(String namespace, ZonedDateTime keepAfter) {
+        return pruneTask(namespace, keepAfter, null, true);
+    }
+
+    private PruneRevisions pruneTask(String namespace, ZonedDateTime keepAfter, Integer keepLast, boolean dryRun) {
+        return PruneRevisions.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .keepAfter(keepAfter == null ? null : Property.ofValue(keepAfter))
+            .keepLast(keepLast == null ? null : Property.ofValue(keepLast))
+            .dryRun(Property.ofValue(dryRun))
+            .build();
+    }
+}
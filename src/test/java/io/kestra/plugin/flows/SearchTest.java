@@ -0,0 +1,113 @@
+package io.kestra.plugin.flows;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.flows.Search;
+import io.kestra.sdk.model.FlowWithSource;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+public class SearchTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.flows.search";
+
+    @Test
+    public void shouldSearchAllPagesConcurrently() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        kestraTestDataUtils.createRandomizedFlow(NAMESPACE + ".child");
+
+        Search search = Search.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .size(Property.ofValue(1))
+            .concurrency(Property.ofValue(2))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Search.Output output = search.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(output.getRows(), hasSize(3));
+        assertThat(output.getRows().getFirst().keySet(), contains("namespace", "id", "revision", "disabled", "labels"));
+    }
+
+    @Test
+    public void shouldSearchInTheSources() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String namespace = NAMESPACE + ".source";
+        String token = "needle" + UUID.randomUUID().toString().substring(0, 8);
+        FlowWithSource flow = kestraTestDataUtils.updateFlowDescription(kestraTestDataUtils.createRandomizedFlow(namespace), token);
+        kestraTestDataUtils.createRandomizedFlow(namespace);
+
+        Search.Output output = sourceSearchTask(namespace, token, FetchType.FETCH).run(runContext);
+
+        assertThat(output.getSize(), is(1L));
+        assertThat(output.getRows(), hasSize(1));
+        assertThat(output.getRows().getFirst().get("id"), is(flow.getId()));
+        assertThat(output.getRows().getFirst().get("fragments"), is(notNullValue()));
+
+        output = sourceSearchTask(namespace, token, FetchType.NONE).run(runContext);
+
+        assertThat(output.getSize(), is(1L));
+        assertThat(output.getRows(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldRejectLabelsWhenSearchingInTheSources() {
+        Search search = Search.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .query(Property.ofValue("hello"))
+            .labels(Property.ofValue(List.of("key:value")))
+            .inSource(Property.ofValue(true))
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> search.run(runContextFactory.of()));
+    }
+
+    private Search sourceSearchTask(String namespace, String query, FetchType fetchType) {
+        return Search.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .query(Property.ofValue(query))
+            .inSource(Property.ofValue(true))
+            .fetchType(Property.ofValue(fetchType))
+            .build();
+    }
+}
@@ -0,0 +1,84 @@
+package io.kestra.plugin.flows;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.flows.Toggle;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class ToggleTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.flows.toggle";
+
+    @Test
+    public void shouldDisableFlowsAndRestoreThem() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+
+        Toggle disable = Toggle.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .enabled(Property.ofValue(false))
+            .maxRequestsPerSecond(Property.ofValue(10.0))
+            .build();
+
+        Toggle.Output disabled = disable.run(runContext);
+
+        assertThat(disabled.getToggled(), is(2L));
+        assertThat(disabled.getFailed(), is(0L));
+        assertThat(disabled.getPreviousState(), is(notNullValue()));
+
+        Toggle.Output again = disable.run(runContext);
+
+        assertThat(again.getToggled(), is(0L));
+        assertThat(again.getUnchanged(), is(2L));
+
+        Toggle restore = Toggle.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .restoreFrom(Property.ofValue(disabled.getPreviousState().toString()))
+            .build();
+
+        Toggle.Output restored = restore.run(runContext);
+
+        assertThat(restored.getToggled(), is(2L));
+
+        Toggle.Output enabled = Toggle.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(NAMESPACE))
+            .enabled(Property.ofValue(true))
+            .build()
+            .run(runContext);
+
+        assertThat(enabled.getUnchanged(), is(2L));
+    }
+}
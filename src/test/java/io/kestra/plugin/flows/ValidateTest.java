@@ -0,0 +1,136 @@
+package io.kestra.plugin.flows;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.flows.Validate;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class ValidateTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.flows.validate";
+
+    @Test
+    public void shouldReportInvalidFlows() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        URI from = storeArchive(runContext, Map.of(
+            "valid.yml", validSource("valid"),
+            "invalid.yml", """
+                id: invalid
+                namespace: %s
+
+                tasks:
+                  - id: hello
+                    type: io.kestra.plugin.core.log.Unknown
+                """.formatted(NAMESPACE)
+        ));
+
+        Validate validate = Validate.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .from(Property.ofValue(from.toString()))
+            .batchSize(Property.ofValue(1))
+            .build();
+
+        Validate.Output output = validate.run(runContext);
+
+        assertThat(output.getValidated(), is(2L));
+        assertThat(output.getInvalid(), is(1L));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+            assertThat(rows, hasSize(1));
+            assertThat(((Map<?, ?>) rows.getFirst()).get("id"), is("invalid"));
+        }
+    }
+
+    @Test
+    public void shouldReportTheEntriesThatAreNotFlowsOfABatch() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        URI from = storeArchive(runContext, Map.of(
+            "first.yml", validSource("first"),
+            "malformed.yml", "id: [malformed\nnamespace: " + NAMESPACE + "\n",
+            "anonymous.yml", validSource("anonymous").replace("id: anonymous\n", ""),
+            "unknown.yml", validSource("unknown").replace("io.kestra.plugin.core.log.Log", "io.kestra.plugin.core.log.Unknown"),
+            "second.yml", validSource("second")
+        ));
+
+        Validate validate = Validate.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .from(Property.ofValue(from.toString()))
+            .batchSize(Property.ofValue(10))
+            .build();
+
+        Validate.Output output = validate.run(runContext);
+
+        assertThat(output.getValidated(), is(5L));
+        assertThat(output.getInvalid(), is(3L));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+            assertThat(
+                rows.stream().map(row -> ((Map<?, ?>) row).get("entryName")).toList(),
+                containsInAnyOrder("malformed.yml", "anonymous.yml", "unknown.yml")
+            );
+        }
+    }
+
+    private static String validSource(String id) {
+        return """
+            id: %s
+            namespace: %s
+
+            tasks:
+              - id: hello
+                type: io.kestra.plugin.core.log.Log
+                message: Hello
+            """.formatted(id, NAMESPACE);
+    }
+
+    private static URI storeArchive(RunContext runContext, Map<String, String> sources) throws Exception {
+        File archive = runContext.workingDir().createTempFile(".zip").toFile();
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(archive))) {
+            for (Map.Entry<String, String> entry : sources.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return runContext.storage().putFile(archive);
+    }
+}
@@ -0,0 +1,108 @@
+package io.kestra.plugin.namespaces;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.namespaces.GetKeyValues;
+import io.kestra.plugin.kestra.namespaces.SetKeyValues;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class KeyValuesTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.namespaces.kv";
+
+    @Test
+    public void shouldSetAndGetManyKeys() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String first = NAMESPACE + ".first";
+        String second = NAMESPACE + ".second";
+
+        SetKeyValues.Output setOutput = SetKeyValues.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .values(Property.ofValue(Map.of(
+                first, Map.of("host", "db.company.com", "port", 5432),
+                second, Map.of("flags", Map.of("new_ui", true))
+            )))
+            .build()
+            .run(runContext);
+
+        assertThat(setOutput.getSize(), is(3L));
+
+        GetKeyValues.Output getOutput = getTask(Map.of(first, List.of("host", "port", "missing"), second, List.of("flags")), FetchType.FETCH, null).run(runContext);
+
+        assertThat(getOutput.getFound(), is(3L));
+        assertThat(getOutput.getMissing(), is(1L));
+        assertThat(getOutput.getValues().get(first).get("host"), is("db.company.com"));
+        assertThat(((Number) getOutput.getValues().get(first).get("port")).intValue(), is(5432));
+        assertThat(getOutput.getValues().get(first).containsKey("missing"), is(false));
+        assertThat(getOutput.getValues().get(second).get("flags"), is(Map.of("new_ui", true)));
+
+        getOutput = getTask(Map.of(first, List.of("host", "port")), FetchType.STORE, null).run(runContext);
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(getOutput.getUri())))) {
+            assertThat(FileSerde.readAll(reader).count().block(), is(2L));
+        }
+    }
+
+    @Test
+    public void shouldReadThroughTheCache() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String namespace = NAMESPACE + ".cached";
+
+        kestraTestDataUtils.createRandomizedKVEntry("config", "initial", namespace);
+
+        GetKeyValues.Output getOutput = getTask(Map.of(namespace, List.of("config")), FetchType.FETCH, Duration.ofMinutes(5)).run(runContext);
+        assertThat(getOutput.getValues().get(namespace).get("config"), is("initial"));
+
+        // a change made outside the tasks is not seen until the cached value expires
+        kestraTestDataUtils.createRandomizedKVEntry("config", "external", namespace);
+        getOutput = getTask(Map.of(namespace, List.of("config")), FetchType.FETCH, Duration.ofMinutes(5)).run(runContext);
+        assertThat(getOutput.getValues().get(namespace).get("config"), is("initial"));
+
+        getOutput = getTask(Map.of(namespace, List.of("config")), FetchType.FETCH, null).run(runContext);
+        assertThat(getOutput.getValues().get(namespace).get("config"), is("external"));
+    }
+
+    private GetKeyValues getTask(Map<String, List<String>> keys, FetchType fetchType, Duration cacheTtl) {
+        GetKeyValues.GetKeyValuesBuilder<?, ?> builder = GetKeyValues.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .keys(Property.ofValue(keys))
+            .fetchType(Property.ofValue(fetchType));
+
+        if (cacheTtl != null) {
+            builder.cacheTtl(Property.ofValue(cacheTtl));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,250 @@
+package io.kestra.plugin.namespaces;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.namespaces.List;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the paging of the namespaces against a local stub of the search endpoint, so the boundary totals can be tested
+ * without creating namespaces on a Kestra instance.
+ */
+@KestraTest
+public class ListPaginationTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private HttpServer server;
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::search);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void shouldFetchEveryPageAtBoundaries() throws Exception {
+        for (long namespaceCount : java.util.List.of(0L, 1L, 9L, 10L, 11L, 15L, 20L, 21L)) {
+            total.set(namespaceCount);
+            requests.set(0);
+
+            List.Output output = listTask(null).run(runContextFactory.of());
+
+            String reason = namespaceCount + " namespaces";
+            assertThat(reason, output.getNamespaces().size(), is((int) namespaceCount));
+            assertThat(reason, requests.get(), is((int) Math.max(1, (namespaceCount + 9) / 10)));
+        }
+    }
+
+    @Test
+    public void shouldFetchOnlyTheRequestedPage() throws Exception {
+        total.set(15);
+
+        List.Output output = listTask(2).run(runContextFactory.of());
+
+        assertThat(output.getNamespaces(), is(java.util.List.of("ns.10", "ns.11", "ns.12", "ns.13", "ns.14")));
+        assertThat(requests.get(), is(1));
+    }
+
+    @Test
+    public void shouldAnswerLongerPrefixesFromCachedListing() throws Exception {
+        total.set(25);
+
+        List.Output output = cachedListTask("", null, "admin@kestra.io").run(runContextFactory.of());
+        assertThat(output.getNamespaces().size(), is(25));
+        assertThat(requests.get(), is(1));
+
+        // a prefix matches the namespace itself and its children, `ns.10` is not a child of `ns.1`
+        output = cachedListTask("ns.1", null, "admin@kestra.io").run(runContextFactory.of());
+        assertThat(output.getNamespaces(), is(java.util.List.of("ns.1")));
+
+        output = cachedListTask("ns", 1, "admin@kestra.io").run(runContextFactory.of());
+        assertThat(output.getNamespaces(), is(java.util.List.of("ns.0", "ns.1", "ns.10", "ns.11", "ns.12", "ns.13", "ns.14", "ns.15", "ns.16", "ns.17")));
+
+        assertThat(requests.get(), is(1));
+    }
+
+    @Test
+    public void shouldMatchTheSameNamespacesWithoutCache() throws Exception {
+        total.set(25);
+
+        // the stub returns every namespace, as the server also returns the ones only starting with the prefix
+        List.Output output = prefixListTask("ns.1", null).run(runContextFactory.of());
+        assertThat(output.getNamespaces(), is(java.util.List.of("ns.1")));
+
+        output = prefixListTask("ns", 2).run(runContextFactory.of());
+        assertThat(output.getNamespaces(), is(java.util.List.of("ns.10", "ns.11", "ns.12", "ns.13", "ns.14", "ns.15", "ns.16", "ns.17", "ns.18", "ns.19")));
+    }
+
+    @Test
+    public void shouldRejectPagesBelowOne() {
+        total.set(5);
+
+        assertThrows(IllegalArgumentException.class, () -> prefixListTask("ns", 0).run(runContextFactory.of()));
+        assertThrows(IllegalArgumentException.class, () -> cachedListTask("ns", 0, "admin@kestra.io").run(runContextFactory.of()));
+    }
+
+    @Test
+    public void shouldNotShareCachedListingBetweenCredentials() throws Exception {
+        total.set(5);
+
+        cachedListTask("", null, "admin@kestra.io").run(runContextFactory.of());
+        cachedListTask("", null, "admin@kestra.io").run(runContextFactory.of());
+        assertThat(requests.get(), is(1));
+
+        cachedListTask("", null, "restricted@kestra.io").run(runContextFactory.of());
+        assertThat(requests.get(), is(2));
+    }
+
+    @Test
+    public void shouldStoreNamespacesWithFields() throws Exception {
+        total.set(25);
+        RunContext runContext = runContextFactory.of();
+
+        List task = List.builder()
+            .kestraUrl(Property.ofValue("http://localhost:" + server.getAddress().getPort()))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue("admin@kestra.io"))
+                .password(Property.ofValue("Admin1234"))
+                .build()
+            )
+            .tenantId(Property.ofValue("main"))
+            .size(Property.ofValue(10))
+            .fields(Property.ofValue(java.util.List.of("deleted")))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        List.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(25L));
+        assertThat(output.getNamespaces(), nullValue());
+        assertThat(requests.get(), is(3));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            java.util.List<Object> rows = FileSerde.readAll(reader).collectList().block();
+            assertThat(rows, hasSize(25));
+            assertThat(rows.getFirst(), is(Map.of("id", "ns.0", "deleted", false)));
+        }
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+
+        Map<String, String> query = new HashMap<>();
+        if (exchange.getRequestURI().getRawQuery() != null) {
+            for (String parameter : exchange.getRequestURI().getRawQuery().split("&")) {
+                String[] keyValue = parameter.split("=", 2);
+                query.put(keyValue[0], keyValue.length > 1 ? URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8) : "");
+            }
+        }
+
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        int size = Integer.parseInt(query.getOrDefault("size", "10"));
+        int from = (int) Math.min(total.get(), (long) (page - 1) * size);
+        int to = (int) Math.min(total.get(), (long) page * size);
+
+        byte[] body = JacksonMapper.ofJson().writeValueAsBytes(Map.of(
+            "results", IntStream.range(from, to).mapToObj(i -> Map.of("id", "ns." + i, "deleted", false)).toList(),
+            "total", total.get()
+        ));
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(exchange.getRequestURI().getPath().endsWith("/namespaces/search") ? 200 : 404, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private List listTask(Integer page) {
+        List.ListBuilder<?, ?> listBuilder = List.builder()
+            .kestraUrl(Property.ofValue("http://localhost:" + server.getAddress().getPort()))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue("admin@kestra.io"))
+                .password(Property.ofValue("Admin1234"))
+                .build()
+            )
+            .tenantId(Property.ofValue("main"))
+            .size(Property.ofValue(10));
+
+        if (page != null) {
+            listBuilder.page(Property.ofValue(page)).size(Property.ofValue(5));
+        }
+
+        return listBuilder.build();
+    }
+
+    private List prefixListTask(String prefix, Integer page) {
+        List.ListBuilder<?, ?> listBuilder = List.builder()
+            .kestraUrl(Property.ofValue("http://localhost:" + server.getAddress().getPort()))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue("admin@kestra.io"))
+                .password(Property.ofValue("Admin1234"))
+                .build()
+            )
+            .tenantId(Property.ofValue("main"))
+            .prefix(Property.ofValue(prefix));
+
+        if (page != null) {
+            listBuilder.page(Property.ofValue(page));
+        }
+
+        return listBuilder.build();
+    }
+
+    private List cachedListTask(String prefix, Integer page, String username) {
+        List.ListBuilder<?, ?> listBuilder = List.builder()
+            .kestraUrl(Property.ofValue("http://localhost:" + server.getAddress().getPort()))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(username))
+                .password(Property.ofValue("Admin1234"))
+                .build()
+            )
+            .tenantId(Property.ofValue("main"))
+            .prefix(Property.ofValue(prefix))
+            .cacheTtl(Property.ofValue(Duration.ofMinutes(1)));
+
+        if (page != null) {
+            listBuilder.page(Property.ofValue(page));
+        }
+
+        return listBuilder.build();
+    }
+}
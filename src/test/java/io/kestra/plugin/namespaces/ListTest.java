@@ -12,6 +12,7 @@ import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 
 @KestraTest
@@ -51,7 +52,9 @@ public class ListTest extends AbstractKestraContainerTest {
         }
         List.Output listNamespacesOutput = listNamespaces.run(runContext);
 
-        assertThat(listNamespacesOutput.getNamespaces().size(), is(NAMESPACE_COUNT));
+        // the parent namespace of the created ones also matches the prefix
+        assertThat(listNamespacesOutput.getNamespaces().size(), is(NAMESPACE_COUNT + 1));
+        assertThat(listNamespacesOutput.getNamespaces(), hasItem(NAMESPACE_LOCAL));
 
         listNamespaces = listTask(NAMESPACE_LOCAL, 1);
         listNamespacesOutput = listNamespaces.run(runContext);
@@ -0,0 +1,111 @@
+package io.kestra.plugin.namespaces;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.namespaces.DownloadFiles;
+import io.kestra.plugin.kestra.namespaces.UploadFiles;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class NamespaceFilesTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.namespaces.files";
+
+    @Test
+    public void shouldSkipUnchangedFiles() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String first = NAMESPACE + ".first";
+        String second = NAMESPACE + ".second";
+
+        Map<String, String> files = Map.of(
+            "/scripts/main.py", store(runContext, "print('hello')\n").toString(),
+            "queries/report.sql", store(runContext, "SELECT 1;\n").toString()
+        );
+
+        UploadFiles.Output uploadOutput = uploadTask(List.of(first, second), files).run(runContext);
+
+        assertThat(uploadOutput.getUploaded(), is(4L));
+        assertThat(uploadOutput.getSkipped(), is(0L));
+        assertThat(uploadOutput.getBytes(), is(2L * (15 + 10)));
+
+        uploadOutput = uploadTask(List.of(first, second), Map.of(
+            "/scripts/main.py", store(runContext, "print('hello')\n").toString(),
+            "queries/report.sql", store(runContext, "SELECT 2;\n").toString()
+        )).run(runContext);
+
+        assertThat(uploadOutput.getUploaded(), is(2L));
+        assertThat(uploadOutput.getSkipped(), is(2L));
+
+        DownloadFiles.Output downloadOutput = downloadTask(first, null).run(runContext);
+
+        assertThat(downloadOutput.getDownloaded(), is(2L));
+        assertThat(downloadOutput.getFiles().keySet(), contains("/queries/report.sql", "/scripts/main.py"));
+        try (InputStream inputStream = runContext.storage().getFile(downloadOutput.getFiles().get("/queries/report.sql"))) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8), is("SELECT 2;\n"));
+        }
+
+        DownloadFiles.Output nextDownloadOutput = downloadTask(first, downloadOutput.getManifest()).run(runContext);
+
+        assertThat(nextDownloadOutput.getDownloaded(), is(0L));
+        assertThat(nextDownloadOutput.getSkipped(), is(2L));
+        assertThat(nextDownloadOutput.getBytes(), is(0L));
+        assertThat(nextDownloadOutput.getFiles(), is(downloadOutput.getFiles()));
+    }
+
+    private static URI store(RunContext runContext, String content) throws Exception {
+        File file = runContext.workingDir().createTempFile().toFile();
+        Files.writeString(file.toPath(), content);
+        return runContext.storage().putFile(file);
+    }
+
+    private UploadFiles uploadTask(List<String> namespaces, Map<String, String> files) {
+        return UploadFiles.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespaces(Property.ofValue(namespaces))
+            .files(Property.ofValue(files))
+            .build();
+    }
+
+    private DownloadFiles downloadTask(String namespace, URI previousManifest) {
+        DownloadFiles.DownloadFilesBuilder<?, ?> builder = DownloadFiles.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .files(Property.ofValue(List.of("/scripts/**", "/queries/**")));
+
+        if (previousManifest != null) {
+            builder.previousManifest(Property.ofValue(previousManifest.toString()));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,96 @@
+package io.kestra.plugin.namespaces;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.AbstractKestraContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.namespaces.Tree;
+import io.kestra.sdk.model.FlowWithSource;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class TreeTest extends AbstractKestraContainerTest {
+    @Inject
+    protected RunContextFactory runContextFactory;
+
+    protected static final String NAMESPACE = "kestra.tests.namespaces.tree";
+
+    @Test
+    public void shouldRollUpCountsToParents() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        kestraTestDataUtils.createRandomizedFlow(NAMESPACE + ".a");
+        kestraTestDataUtils.createRandomizedFlow(NAMESPACE + ".a");
+        kestraTestDataUtils.createRandomizedFlow(NAMESPACE + ".a.b");
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE + ".c");
+        kestraTestDataUtils.createRandomizedExecution(flow.getId(), NAMESPACE + ".c");
+
+        Tree.Output output = treeTask().run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(output.getFlows(), is(4L));
+        assertThat(output.getNamespaces(), hasSize(1));
+
+        // the prefix itself has no flow, it is only an intermediate node
+        Tree.Node root = output.getNamespaces().getFirst();
+        assertThat(root.getNamespace(), is(NAMESPACE));
+        assertThat(root.getFlows(), is(4L));
+        assertThat(root.getOwnFlows(), is(0L));
+        assertThat(root.getExecutions(), is(1L));
+        assertThat(root.getLastExecutionState(), notNullValue());
+
+        List<Tree.Node> children = root.getChildren();
+        assertThat(children.stream().map(Tree.Node::getNamespace).toList(), contains(NAMESPACE + ".a", NAMESPACE + ".c"));
+
+        Tree.Node a = children.getFirst();
+        assertThat(a.getFlows(), is(3L));
+        assertThat(a.getOwnFlows(), is(2L));
+        assertThat(a.getExecutions(), is(0L));
+        assertThat(a.getChildren(), hasSize(1));
+        assertThat(a.getChildren().getFirst().getFlows(), is(1L));
+        assertThat(a.getChildren().getFirst().getChildren(), nullValue());
+
+        Tree.Node c = children.get(1);
+        assertThat(c.getFlows(), is(1L));
+        assertThat(c.getExecutions(), is(1L));
+    }
+
+    @Test
+    public void shouldOnlyMatchTheChildNamespacesOfThePrefix() throws Exception {
+        // a sibling of the namespace of the other tests, so that it is also left out of their tree
+        String prefix = NAMESPACE + "boundary";
+        kestraTestDataUtils.createRandomizedFlow(prefix + ".x");
+        kestraTestDataUtils.createRandomizedFlow(prefix + "2");
+
+        Tree.Output output = treeTask(prefix).run(runContextFactory.of());
+
+        assertThat(output.getSize(), is(1L));
+        assertThat(output.getNamespaces().stream().map(Tree.Node::getNamespace).toList(), contains(prefix));
+        assertThat(output.getNamespaces().getFirst().getFlows(), is(1L));
+    }
+
+    private Tree treeTask() {
+        return treeTask(NAMESPACE);
+    }
+
+    private Tree treeTask(String prefix) {
+        return Tree.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(AbstractKestraTask.Auth.builder()
+                .username(Property.ofValue(USERNAME))
+                .password(Property.ofValue(PASSWORD))
+                .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .prefix(Property.ofValue(prefix))
+            .build();
+    }
+}